@@ -0,0 +1,13 @@
+-- Şemanın ddl-auto ile oluşturulduğu son hali. IF NOT EXISTS sayesinde mevcut veritabanlarında
+-- (baseline-on-migrate, sürüm 0) değişiklik yapmaz. username/email aramaları unique indekslerden karşılanır.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   varchar(255) NOT NULL,
+    email      varchar(255) NOT NULL,
+    password   varchar(255) NOT NULL,
+    role       varchar(255),
+    created_at timestamp(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
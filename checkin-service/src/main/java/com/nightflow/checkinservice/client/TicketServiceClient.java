@@ -2,13 +2,12 @@ package com.nightflow.checkinservice.client;
 
 import com.nightflow.checkinservice.config.FeignClientConfig;
 import com.nightflow.checkinservice.dto.TicketInfo;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PatchMapping;
 
-import java.util.List;
-
 @FeignClient(
     name = "ticket-service-client", 
     url = "http://localhost:8093",
@@ -17,8 +16,12 @@ import java.util.List;
 )
 public interface TicketServiceClient {
 
-    @GetMapping("/event/{eventId}/all")
-    List<TicketInfo> getEventTickets(@PathVariable String eventId);
+    /**
+     * Etkinliğin SOLD biletleri, NDJSON akışı (satır başına bir TicketInfo).
+     * Gövde okunduktan sonra Response kapatılmalı.
+     */
+    @GetMapping(value = "/event/{eventId}/export", produces = "application/x-ndjson")
+    Response exportEventTickets(@PathVariable String eventId);
     
     @GetMapping("/{ticketCode}")
     TicketInfo getTicketByCode(@PathVariable String ticketCode);
@@ -3,13 +3,17 @@ package com.nightflow.checkinservice.service;
 import com.nightflow.checkinservice.client.TicketServiceClient;
 import com.nightflow.checkinservice.dto.CheckInResponse;
 import com.nightflow.checkinservice.dto.TicketInfo;
+import feign.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -20,6 +24,7 @@ public class CheckInService {
 
     private final StringRedisTemplate redisTemplate;
     private final TicketServiceClient ticketClient;
+    private final JsonMapper jsonMapper;
     
     private static final String TICKET_PREFIX = "checkin:";
     private static final String EVENT_PRELOAD_PREFIX = "event-preload:";
@@ -31,25 +36,38 @@ public class CheckInService {
     public int preloadEventTickets(String eventId) {
         log.info("Preloading tickets for event: {}", eventId);
         
-        try {
-            List<TicketInfo> tickets = ticketClient.getEventTickets(eventId);
-            
-            tickets.forEach(ticket -> {
-                String key = TICKET_PREFIX + ticket.ticketCode();
-                redisTemplate.opsForHash().putAll(key, Map.of(
-                    "status", ticket.status(),
-                    "userId", ticket.userId() != null ? ticket.userId().toString() : "0",
-                    "categoryName", ticket.categoryName() != null ? ticket.categoryName() : "Unknown"
-                ));
-                // 24 saat TTL
-                redisTemplate.expire(key, 24, TimeUnit.HOURS);
-            });
+        // Biletler akış halinde satır satır okunur; etkinlik büyüklüğünden bağımsız olarak bellekte tek bilet tutulur
+        try (Response response = ticketClient.exportEventTickets(eventId)) {
+            if (response.status() != 200 || response.body() == null) {
+                throw new IllegalStateException("Ticket export failed with status " + response.status());
+            }
+
+            int count = 0;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body().asInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    TicketInfo ticket = jsonMapper.readValue(line, TicketInfo.class);
+                    String key = TICKET_PREFIX + ticket.ticketCode();
+                    redisTemplate.opsForHash().putAll(key, Map.of(
+                        "status", ticket.status(),
+                        "userId", ticket.userId() != null ? ticket.userId().toString() : "0",
+                        "categoryName", ticket.categoryName() != null ? ticket.categoryName() : "Unknown"
+                    ));
+                    // 24 saat TTL
+                    redisTemplate.expire(key, 24, TimeUnit.HOURS);
+                    count++;
+                }
+            }
             
             // Event preload flag'i
             redisTemplate.opsForValue().set(EVENT_PRELOAD_PREFIX + eventId, "true", 24, TimeUnit.HOURS);
             
-            log.info("Preloaded {} tickets for event: {}", tickets.size(), eventId);
-            return tickets.size();
+            log.info("Preloaded {} tickets for event: {}", count, eventId);
+            return count;
         } catch (Exception e) {
             log.error("Failed to preload tickets for event: {}", eventId, e);
             return 0;
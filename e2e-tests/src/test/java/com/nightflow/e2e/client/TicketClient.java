@@ -3,6 +3,9 @@ package com.nightflow.e2e.client;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -30,10 +33,13 @@ public class TicketClient {
                 "description": "Test Category",
                 "price": %s,
                 "totalQuantity": %d,
-                "salesStartAt": "2030-01-01T00:00:00",
-                "salesEndAt": "2030-12-31T23:59:59"
+                "salesStartAt": "%s",
+                "salesEndAt": "%s"
             }
-            """.formatted(eventId, name, price, quantity);
+            """.formatted(eventId, name, price, quantity,
+                // Sales window must be open: reservations outside it are rejected
+                LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS),
+                LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS));
 
         return given()
                 .spec(spec)
@@ -1,8 +1,11 @@
 package com.nightflow.orderservice.client;
 
 import com.nightflow.orderservice.config.FeignClientConfig;
+import com.nightflow.orderservice.dto.SaleConfirmationBatchRequest;
+import com.nightflow.orderservice.dto.SaleConfirmationBatchResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @FeignClient(
@@ -17,4 +20,10 @@ public interface TicketServiceClient {
     void confirmSale(@RequestParam String sessionId,
                      @RequestParam Long orderId,
                      @RequestParam Long userId);
+
+    /**
+     * Siparişin tüm rezervasyonları tek istekte ve tek transaction'da
+     */
+    @PostMapping("/confirm-sale/batch")
+    SaleConfirmationBatchResponse confirmSaleBatch(@RequestBody SaleConfirmationBatchRequest request);
 }
@@ -0,0 +1,9 @@
+package com.nightflow.orderservice.dto;
+
+import java.util.List;
+
+public record SaleConfirmationBatchRequest(
+    List<String> sessionIds,
+    Long orderId,
+    Long userId
+) {}
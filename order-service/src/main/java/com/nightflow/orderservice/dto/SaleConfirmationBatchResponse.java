@@ -0,0 +1,8 @@
+package com.nightflow.orderservice.dto;
+
+import java.util.List;
+
+// Biletler de döner; sipariş tarafında sadece onaylanamayan session'lar kullanılır
+public record SaleConfirmationBatchResponse(
+    List<String> missingSessionIds
+) {}
@@ -0,0 +1,45 @@
+package com.nightflow.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kafka'ya gönderilecek OrderCreatedEvent (transactional outbox).
+ * Sipariş değişikliğiyle aynı transaction'da eklenir; relay gönderdiğinde publishedAt dolar.
+ */
+@Entity
+@Table(name = "order_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Kafka mesaj anahtarı
+    @Column(nullable = false)
+    private String orderNumber;
+
+    // Olayın JSON hali
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -4,18 +4,25 @@ import com.nightflow.orderservice.event.OrderCreatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Kafka gönderimi; sadece OrderOutbox relay'i çağırır. Sipariş akışı olayı outbox'a yazar.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderProducer {
 
+    public static final String TOPIC = "order-created";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
-    private static final String TOPIC = "order-created";
 
-    public void sendOrderCreatedEvent(OrderCreatedEvent event) {
-        log.info("Sending order created event to Kafka: {}", event);
-        kafkaTemplate.send(TOPIC, event.orderNumber(), event);
+    public CompletableFuture<SendResult<String, Object>> sendOrderCreatedEvent(OrderCreatedEvent event) {
+        log.debug("Sending order created event to Kafka: {}", event.orderNumber());
+        return kafkaTemplate.send(TOPIC, event.orderNumber(), event);
     }
 }
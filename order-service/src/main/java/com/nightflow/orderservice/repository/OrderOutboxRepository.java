@@ -0,0 +1,41 @@
+package com.nightflow.orderservice.repository;
+
+import com.nightflow.orderservice.entity.OrderOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Relay kilidi (transaction sonuna kadar): aynı anda tek instance gönderir, sıra korunur
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(4201, 0)", nativeQuery = true)
+    boolean tryLockRelay();
+
+    @Query("SELECT e FROM OrderOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OrderOutboxEvent> findUnpublished(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Saklama süresi dolmuş, gönderilmiş kayıtlardan bir grubu sil
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM order_outbox
+            WHERE id IN (
+                SELECT id FROM order_outbox
+                WHERE published_at < :before
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int purgePublished(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
@@ -1,11 +1,34 @@
 package com.nightflow.orderservice.repository;
 
 import com.nightflow.orderservice.entity.Order;
+import com.nightflow.orderservice.entity.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByUserId(String userId);
+
+    /**
+     * Sipariş ve kalemleri tek sorguda (kalemler transaction dışında kullanılacaksa)
+     */
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsByOrderNumber(String orderNumber);
+
+    /**
+     * Durum geçişi, sadece sipariş hâlâ beklenen durumdaysa; güncellenen satır sayısı döner
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id = :id AND o.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,161 @@
+package com.nightflow.orderservice.service;
+
+import com.nightflow.orderservice.entity.OrderOutboxEvent;
+import com.nightflow.orderservice.event.OrderCreatedEvent;
+import com.nightflow.orderservice.producer.OrderProducer;
+import com.nightflow.orderservice.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * OrderCreatedEvent için transactional outbox.
+ *
+ * Olay, siparişin COMPLETED geçişiyle aynı transaction'da order_outbox'a JSON olarak
+ * eklenir; ödeme isteği Kafka'yı beklemez, commit olmayan siparişin olayı da gitmez.
+ * Relay gönderilmemiş kayıtları id sırasıyla gruplar halinde order-created topic'ine
+ * gönderir (anahtar: sipariş numarası), tüm onayları bekler ve gönderildi olarak işaretler.
+ * Gönderim en az bir kezdir: onaydan sonra işaretleme başarısız olursa grup tekrar gönderilir.
+ *
+ * Relay advisory lock ile tek instance'ta çalışır. Metrikler: order.outbox.lag (relay'in son
+ * gördüğü en eski gönderilmemiş kaydın yaşı, kilidi almayan instance'ta 0), order.outbox.published
+ * ve order.outbox.publish.failures sayaçları.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutbox {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderProducer orderProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${orders.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${orders.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${orders.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${orders.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    private volatile double lagSeconds;
+    private Counter publishedCounter;
+    private Counter failureCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("order.outbox.lag", this, outbox -> outbox.lagSeconds)
+                .description("Relay'in son gördüğü en eski gönderilmemiş kaydın yaşı")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        publishedCounter = Counter.builder("order.outbox.published")
+                .description("Kafka'ya gönderilen sipariş olayları")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("order.outbox.publish.failures")
+                .description("Başarısız relay grupları")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Olayı outbox'a ekle; çağıranın transaction'ı içinde çalışmalıdır
+     */
+    public void orderCreated(OrderCreatedEvent event) {
+        orderOutboxRepository.save(OrderOutboxEvent.builder()
+                .orderNumber(event.orderNumber())
+                .payload(jsonMapper.writeValueAsString(event))
+                .build());
+    }
+
+    /**
+     * Gönderilmemiş kayıtları grup grup yayınla
+     */
+    @Scheduled(fixedDelayString = "${orders.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (RuntimeException e) {
+            // Bir sonraki çalışmada aynı kayıtlardan devam edilir
+            failureCounter.increment();
+            log.warn("Order events could not be sent to Kafka: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Saklama süresi dolan gönderilmiş kayıtları gruplar halinde sil
+     */
+    @Scheduled(cron = "${orders.outbox.purge-cron:0 30 5 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    orderOutboxRepository.purgePublished(before, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} published outbox rows older than {}", total, before);
+        }
+    }
+
+    private int relayBatch() {
+        if (!orderOutboxRepository.tryLockRelay()) {
+            // Başka bir instance gönderiyor
+            lagSeconds = 0;
+            return 0;
+        }
+        List<OrderOutboxEvent> batch = orderOutboxRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            lagSeconds = 0;
+            return 0;
+        }
+        lagSeconds = Duration.between(batch.getFirst().getCreatedAt(), LocalDateTime.now()).toMillis() / 1000.0;
+
+        // Gönderimler onay beklemeden sıraya girer, producer linger.ms içinde gruplar
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(event -> orderProducer.sendOrderCreatedEvent(
+                        jsonMapper.readValue(event.getPayload(), OrderCreatedEvent.class)))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox relay interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge: " + e.getMessage(), e);
+        }
+
+        orderOutboxRepository.markPublished(
+                batch.stream().map(OrderOutboxEvent::getId).toList(), LocalDateTime.now());
+        publishedCounter.increment(batch.size());
+        log.debug("Sent {} order events to {}", batch.size(), OrderProducer.TOPIC);
+        return batch.size();
+    }
+}
@@ -1,17 +1,16 @@
 package com.nightflow.orderservice.service;
 
-import com.nightflow.orderservice.client.TicketServiceClient;
 import com.nightflow.orderservice.dto.OrderRequest;
 import com.nightflow.orderservice.entity.Order;
 import com.nightflow.orderservice.entity.OrderItem;
 import com.nightflow.orderservice.entity.OrderStatus;
 import com.nightflow.orderservice.event.OrderCreatedEvent;
-import com.nightflow.orderservice.producer.OrderProducer;
 import com.nightflow.orderservice.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,8 +23,9 @@ import java.util.stream.Collectors;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final TicketServiceClient ticketServiceClient;
-    private final OrderProducer orderProducer;
+    private final TicketSaleConfirmer ticketSaleConfirmer;
+    private final OrderOutbox orderOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public Order createOrder(OrderRequest request, String userId) {
@@ -54,24 +54,30 @@ public class OrderService {
         return orderRepository.save(order);
     }
 
+    @Transactional(readOnly = true)
     public List<Order> getMyOrders(String userId) {
         return orderRepository.findByUserId(userId);
     }
 
-    @Transactional
+    /**
+     * Ödeme: satış onayları Ticket Service'e DB transaction'ı dışında, paralel gider.
+     * Bağlantı sadece siparişin okunması ve durum geçişi sırasında tutulur.
+     */
     public Order payOrder(String orderNumber) {
         log.info("Processing payment for order: {}", orderNumber);
-        
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new RuntimeException("Order is not pending");
-        }
+        Order order = transactionTemplate.execute(status -> {
+            Order pending = orderRepository.findWithItemsByOrderNumber(orderNumber)
+                    .orElseThrow(() -> new RuntimeException("Order not found"));
+            if (pending.getStatus() != OrderStatus.PENDING) {
+                throw new RuntimeException("Order is not pending");
+            }
+            return pending;
+        });
 
         // 1. Ödeme işlemi (Simüle)
         // paymentService.processPayment(...)
-        
+
         // 2. Ticket Service'de satışı onayla
         Long userIdLong;
         try {
@@ -80,25 +86,17 @@ public class OrderService {
             userIdLong = 999L; // Anonymous / Guest user backup ID
         }
 
-        for (OrderItem item : order.getItems()) {
-            try {
-                ticketServiceClient.confirmSale(
-                        item.getReservationId(),
-                        order.getId(),
-                        userIdLong
-                );
-            } catch (Exception e) {
-                log.error("Failed to confirm sale for item: {}, reservation: {}", item.getId(), item.getReservationId(), e);
-                // Saga Compensation burada tetiklenmeli (Refund, Cancel Order)
-                // Şimdilik basit tutuyoruz, logluyoruz.
-            }
+        List<OrderItem> failed = ticketSaleConfirmer.confirmAll(order.getId(), userIdLong, order.getItems());
+        if (!failed.isEmpty()) {
+            // Saga Compensation burada tetiklenmeli (Refund, Cancel Order)
+            // Şimdilik basit tutuyoruz, logluyoruz.
+            log.error("Sale confirmation failed for {} of {} items in order: {}",
+                    failed.size(), order.getItems().size(), orderNumber);
         }
-        
-        // 3. Siparişi güncelle
-        order.setStatus(OrderStatus.COMPLETED);
-        Order savedOrder = orderRepository.save(order);
-        
-        // 4. Kafka event gönder
+
+        // 3. Siparişi güncelle ve olayı outbox'a yaz (tek transaction); onaylar sürerken
+        // başka bir istek ödediyse geçiş yapılmaz, olay da yazılmaz
+        LocalDateTime now = LocalDateTime.now();
         List<OrderCreatedEvent.OrderItemEvent> itemEvents = order.getItems().stream()
                 .map(item -> new OrderCreatedEvent.OrderItemEvent(
                         item.getCategoryId(),
@@ -108,20 +106,29 @@ public class OrderService {
                         item.getQuantity(),
                         item.getPrice()
                 )).toList();
-                
+
         OrderCreatedEvent event = new OrderCreatedEvent(
                 order.getOrderNumber(),
                 order.getUserId(),
                 order.getTotalAmount(),
-                LocalDateTime.now(),
+                now,
                 itemEvents
         );
-        
-        orderProducer.sendOrderCreatedEvent(event);
-        
-        return savedOrder;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (orderRepository.transitionStatus(order.getId(), OrderStatus.PENDING, OrderStatus.COMPLETED, now) == 0) {
+                throw new RuntimeException("Order is not pending");
+            }
+            // 4. Kafka event'i OrderOutbox relay'i gönderir
+            orderOutbox.orderCreated(event);
+        });
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setUpdatedAt(now);
+
+        return order;
     }
 
+    @Transactional(readOnly = true)
     public Order getOrder(String orderNumber) {
         return orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -0,0 +1,144 @@
+package com.nightflow.orderservice.service;
+
+import com.nightflow.orderservice.client.TicketServiceClient;
+import com.nightflow.orderservice.dto.SaleConfirmationBatchRequest;
+import com.nightflow.orderservice.dto.SaleConfirmationBatchResponse;
+import com.nightflow.orderservice.entity.OrderItem;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sipariş kalemlerinin satışlarını Ticket Service'de onaylar.
+ *
+ * Varsayılan olarak tüm rezervasyonlar tek istekte (confirm-sale/batch) onaylanır.
+ * batch-confirm kapalıysa her rezervasyon kendi sanal thread'inde çağrılır; aynı anda en fazla
+ * confirm-concurrency çağrı açıktır. Her iki yolda da çağrılar confirm-timeout-ms içinde
+ * bitmelidir, süre dolunca kalanlar iptal edilir (thread kesilir). Çağrılar confirmAll'dan
+ * dönmeden önce bitmiş ya da iptal edilmiş olur; arka planda çağrı kalmaz. Çağıran thread
+ * kesilirse de açık çağrılar iptal edilir. DB transaction'ı içinden çağrılmamalıdır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSaleConfirmer {
+
+    private final TicketServiceClient ticketServiceClient;
+
+    @Value("${orders.payment.batch-confirm:true}")
+    private boolean batchConfirm;
+
+    @Value("${orders.payment.confirm-concurrency:4}")
+    private int confirmConcurrency;
+
+    @Value("${orders.payment.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    /**
+     * Kalemlerin satışlarını onayla; onaylanamayan (hata veya süre aşımı) kalemleri döner
+     */
+    public List<OrderItem> confirmAll(Long orderId, Long userId, List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        return batchConfirm ? confirmBatch(orderId, userId, items) : confirmEach(orderId, userId, items);
+    }
+
+    private List<OrderItem> confirmBatch(Long orderId, Long userId, List<OrderItem> items) {
+        // Çoklu kategori rezervasyonunda kalemler aynı session'ı paylaşır
+        List<String> sessionIds = items.stream().map(OrderItem::getReservationId).distinct().toList();
+        Callable<SaleConfirmationBatchResponse> call = () ->
+                ticketServiceClient.confirmSaleBatch(new SaleConfirmationBatchRequest(sessionIds, orderId, userId));
+        Future<SaleConfirmationBatchResponse> result = invokeAll(orderId, List.of(call)).getFirst();
+        try {
+            Set<String> missing = Set.copyOf(result.get().missingSessionIds());
+            List<OrderItem> failed = items.stream()
+                    .filter(item -> missing.contains(item.getReservationId()))
+                    .toList();
+            failed.forEach(item -> log.error("Reservation not found for item: {}, reservation: {}",
+                    item.getId(), item.getReservationId()));
+            return failed;
+        } catch (CancellationException e) {
+            log.error("Batch sale confirmation timed out after {} ms for order: {}", confirmTimeoutMs, orderId);
+        } catch (ExecutionException e) {
+            log.error("Failed to confirm sales for order: {}", orderId, e.getCause());
+        } catch (InterruptedException e) {
+            // Future bitmiş durumda, get() beklemez
+            Thread.currentThread().interrupt();
+        }
+        return items;
+    }
+
+    private List<OrderItem> confirmEach(Long orderId, Long userId, List<OrderItem> items) {
+        // Çoklu kategori rezervasyonunda kalemler aynı session'ı paylaşır; session başına tek çağrı,
+        // sonucu o session'ın tüm kalemlerine uygulanır
+        Map<String, List<OrderItem>> byReservation = items.stream()
+                .collect(Collectors.groupingBy(OrderItem::getReservationId, LinkedHashMap::new, Collectors.toList()));
+        List<String> reservationIds = List.copyOf(byReservation.keySet());
+
+        Semaphore permits = new Semaphore(Math.max(1, confirmConcurrency));
+        List<Callable<Void>> calls = reservationIds.stream()
+                .map(reservationId -> (Callable<Void>) () -> {
+                    permits.acquire();
+                    try {
+                        ticketServiceClient.confirmSale(reservationId, orderId, userId);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                })
+                .toList();
+        List<Future<Void>> results = invokeAll(orderId, calls);
+
+        List<OrderItem> failed = new ArrayList<>();
+        for (int i = 0; i < reservationIds.size(); i++) {
+            String reservationId = reservationIds.get(i);
+            List<OrderItem> group = byReservation.get(reservationId);
+            try {
+                results.get(i).get();
+            } catch (CancellationException e) {
+                log.error("Sale confirmation timed out after {} ms for reservation: {} ({} items)",
+                        confirmTimeoutMs, reservationId, group.size());
+                failed.addAll(group);
+            } catch (ExecutionException e) {
+                log.error("Failed to confirm sale for reservation: {} ({} items)",
+                        reservationId, group.size(), e.getCause());
+                failed.addAll(group);
+            } catch (InterruptedException e) {
+                // Tüm future'lar bitmiş durumda, get() beklemez
+                Thread.currentThread().interrupt();
+                failed.addAll(group);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Çağrıları sanal thread'lerde çalıştır, confirm-timeout-ms dolunca kalanları iptal et
+     */
+    private <T> List<Future<T>> invokeAll(Long orderId, List<Callable<T>> calls) {
+        // close() iptal edilen çağrıların da bitmesini bekler
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return executor.invokeAll(calls, confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sale confirmation interrupted for order: " + orderId, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- Şemanın ddl-auto ile oluşturulduğu son hali. IF NOT EXISTS sayesinde mevcut veritabanlarında
+-- (baseline-on-migrate, sürüm 0) değişiklik yapmaz.
+
+CREATE TABLE IF NOT EXISTS orders (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_number varchar(255) NOT NULL,
+    user_id      varchar(255),
+    total_amount numeric(38, 2),
+    status       varchar(255),
+    created_at   timestamp(6),
+    updated_at   timestamp(6),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id       bigint,
+    category_id    bigint,
+    category_name  varchar(255),
+    event_id       varchar(255),
+    event_name     varchar(255),
+    quantity       integer,
+    price          numeric(38, 2),
+    reservation_id varchar(255),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
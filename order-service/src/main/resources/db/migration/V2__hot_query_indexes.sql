@@ -0,0 +1,6 @@
+-- Sıcak sorguların indeksleri; her biri QueryPlanTest'te EXPLAIN ile doğrulanır.
+
+-- Kullanıcının siparişleri
+CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id, created_at);
+-- Siparişin kalemleri (lazy koleksiyon); PostgreSQL foreign key için indeks oluşturmaz
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
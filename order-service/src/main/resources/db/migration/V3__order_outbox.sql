@@ -0,0 +1,17 @@
+-- Sipariş olayları (transactional outbox). Sipariş durum geçişiyle aynı transaction'da eklenir,
+-- OrderOutbox relay'i id sırasıyla Kafka'ya (order-created) gönderip published_at'i doldurur.
+
+CREATE SEQUENCE IF NOT EXISTS order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id           bigint       NOT NULL PRIMARY KEY,
+    order_number varchar(255) NOT NULL,
+    payload      text         NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    published_at timestamp(6)
+);
+
+-- Relay sadece gönderilmemiş kayıtları id sırasıyla okur; gönderilenler indeksten düşer
+CREATE INDEX IF NOT EXISTS idx_order_outbox_unpublished ON order_outbox (id) WHERE published_at IS NULL;
+-- Saklama süresi dolan gönderilmiş kayıtların silinmesi
+CREATE INDEX IF NOT EXISTS idx_order_outbox_published_at ON order_outbox (published_at) WHERE published_at IS NOT NULL;
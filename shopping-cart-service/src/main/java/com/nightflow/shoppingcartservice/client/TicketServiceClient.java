@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(
     name = "ticket-service-client", 
@@ -18,7 +19,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface TicketServiceClient {
 
     @PostMapping("/reserve")
-    ReservationResponse reserveTickets(@RequestBody ReservationRequest request);
+    ReservationResponse reserveTickets(@RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+                                       @RequestHeader(value = "X-User-Id", required = false) String userId,
+                                       @RequestBody ReservationRequest request);
 
     @DeleteMapping("/reserve/{sessionId}")
     void cancelReservation(@PathVariable String sessionId);
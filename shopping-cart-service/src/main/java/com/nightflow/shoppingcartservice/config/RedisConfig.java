@@ -1,9 +1,12 @@
 package com.nightflow.shoppingcartservice.config;
 
+import com.nightflow.shoppingcartservice.service.SoldOutCategories;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -27,4 +30,16 @@ public class RedisConfig {
         
         return template;
     }
+
+    /**
+     * Ticket Service'in kategori durum geçişleri (tükendi / tekrar satışta)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       SoldOutCategories soldOutCategories) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(soldOutCategories, new ChannelTopic(SoldOutCategories.STATUS_CHANNEL));
+        return container;
+    }
 }
@@ -24,7 +24,10 @@ public class CartController {
     }
 
     @PostMapping("/add")
-    public ResponseEntity<Cart> addToCart(@Valid @RequestBody AddToCartRequest request) {
+    public ResponseEntity<Cart> addToCart(
+            @Valid @RequestBody AddToCartRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
         // Her item için unique reservation ID (sub-session) oluşturuyoruz Ticket Service için
         // Kullanıcının ana session ID'si cart key'i oluyor.
         // Ticket service'e giden session ID ise unique oluyor.
@@ -36,7 +39,8 @@ public class CartController {
         // Ama Cart içinde userSessionId tutulmalı.
         
         // Gelin CartService'i düzeltelim, burası sadece pass-through olsun.
-        return ResponseEntity.ok(cartService.addToCart(request));
+        // Bekleme odası token'ı ve token'ın bağlı olduğu kullanıcı Ticket Service'e aynen iletilir
+        return ResponseEntity.ok(cartService.addToCart(request, queueToken, userId));
     }
 
     @DeleteMapping("/{sessionId}/item/{index}")
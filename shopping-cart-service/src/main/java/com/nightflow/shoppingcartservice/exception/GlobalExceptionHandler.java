@@ -1,5 +1,7 @@
 package com.nightflow.shoppingcartservice.exception;
 
+import feign.FeignException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -33,6 +35,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(SoldOutException.class)
+    public ResponseEntity<Map<String, Object>> handleSoldOutException(SoldOutException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Ticket Service bekleme odası reddi: 429 ve Retry-After kullanıcıya aynen iletilir
+     */
+    @ExceptionHandler(FeignException.TooManyRequests.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(FeignException.TooManyRequests ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Bu etkinlik için bekleme odasından sıra almanız gerekiyor.");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        ex.responseHeaders().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(HttpHeaders.RETRY_AFTER))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst()
+                .ifPresent(retryAfter -> response.header(HttpHeaders.RETRY_AFTER, retryAfter));
+        return response.body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGlobalException(Exception ex) {
         log.error("Unhandled exception caught: ", ex);
@@ -0,0 +1,11 @@
+package com.nightflow.shoppingcartservice.exception;
+
+/**
+ * Kategori tükendi; sepete ekleme Ticket Service'e gitmeden reddedildi
+ */
+public class SoldOutException extends RuntimeException {
+
+    public SoldOutException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.nightflow.shoppingcartservice.service;
 
 import com.nightflow.shoppingcartservice.client.TicketServiceClient;
 import com.nightflow.shoppingcartservice.dto.*;
+import com.nightflow.shoppingcartservice.exception.SoldOutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -20,6 +21,7 @@ public class CartService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final TicketServiceClient ticketServiceClient;
+    private final SoldOutCategories soldOutCategories;
 
     private static final String CART_PREFIX = "cart:";
     // Sepet süresi (ve Ticket Service'deki rezervasyon süresi ile uyumlu olmalı)
@@ -39,8 +41,12 @@ public class CartService {
         return cart;
     }
 
-    public Cart addToCart(AddToCartRequest request) {
+    public Cart addToCart(AddToCartRequest request, String queueToken, String userId) {
         log.info("Adding to cart: {}", request);
+
+        if (soldOutCategories.contains(request.getCategoryId())) {
+            throw new SoldOutException("Bu kategori tükendi.");
+        }
         
         // Her item için unique bir reservation ID oluştur
         String reservationId = UUID.randomUUID().toString();
@@ -52,8 +58,8 @@ public class CartService {
                 .sessionId(reservationId) // Unique ID
                 .build();
         
-        // Bu çağrı hata fırlatırsa (yetersiz stok vs.) işlem kesilir ve sepete eklenmez.
-        ReservationResponse reservation = ticketServiceClient.reserveTickets(reservationRequest);
+        // Bu çağrı hata fırlatırsa (yetersiz stok, bekleme odası vs.) işlem kesilir ve sepete eklenmez.
+        ReservationResponse reservation = ticketServiceClient.reserveTickets(queueToken, userId, reservationRequest);
         
         // 2. Redis'teki sepeti güncelle
         Cart cart = getCart(request.getSessionId()); // Kullanıcının sepeti
@@ -0,0 +1,68 @@
+package com.nightflow.shoppingcartservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Ticket Service'in yayınladığı tükenmiş kategoriler.
+ *
+ * Başlangıçta ve periyodik olarak inventory:sold-out kümesinden okunur, arada
+ * inventory:category-status kanalındaki geçişlerle ("SOLD_OUT:{id}" / "AVAILABLE:{id}")
+ * güncellenir. Tükenmiş kategori sepete eklenirken Ticket Service'e gidilmeden reddedilir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SoldOutCategories implements MessageListener {
+
+    public static final String STATUS_CHANNEL = "inventory:category-status";
+    private static final String SOLD_OUT_SET_KEY = "inventory:sold-out";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+
+    public boolean contains(Long categoryId) {
+        return soldOut.contains(categoryId);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${cart.sold-out.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(SOLD_OUT_SET_KEY);
+            Set<Long> ids = members == null ? Set.of() : members.stream()
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+            soldOut.retainAll(ids);
+            soldOut.addAll(ids);
+        } catch (RuntimeException e) {
+            log.warn("Tükenmiş kategoriler okunamadı: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            Long categoryId = Long.parseLong(body.substring(separator + 1));
+            if (body.startsWith("SOLD_OUT:")) {
+                soldOut.add(categoryId);
+            } else {
+                soldOut.remove(categoryId);
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            log.warn("Geçersiz kategori durum mesajı: {}", body);
+        }
+    }
+}
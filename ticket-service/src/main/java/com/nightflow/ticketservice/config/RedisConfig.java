@@ -0,0 +1,24 @@
+package com.nightflow.ticketservice.config;
+
+import com.nightflow.ticketservice.service.SoldOutTracker;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Kategori durum geçişleri (tükendi / tekrar satışta) diğer instance'lardan dinlenir
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       SoldOutTracker soldOutTracker) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(soldOutTracker, new ChannelTopic(SoldOutTracker.STATUS_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,107 @@
+package com.nightflow.ticketservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Okuma replikası yönlendirmesi (datasource.replica-routing.enabled).
+ *
+ * Primary ve her replika için ayrı Hikari havuzu kurulur. Replika URL'leri aynı
+ * veritabanını gösterebilir (tek instance, iki havuz); havuzlar ApplicationName ile
+ * ayırt edilir (pg_stat_activity). Kapalıyken Spring Boot'un varsayılan DataSource'u kullanılır.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica-routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Value("${spring.application.name:ticket-service}")
+    private String applicationName;
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int primaryPoolSize;
+
+    @Value("${datasource.replica-routing.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica-routing.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replica-routing.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${datasource.replica-routing.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Value("${datasource.replica-routing.lag-check-interval-ms:1000}")
+    private long lagCheckIntervalMs;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService replicaLagChecker() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-check")
+                .daemon(true)
+                .factory());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(ScheduledExecutorService replicaLagChecker) {
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("datasource.replica-routing.urls boş olamaz");
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(replicaUrls.get(i), "replica-" + i, replicaPoolSize, true));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                pool(primaryUrl, "primary", primaryPoolSize, false), replicas, maxLagMs, readYourWritesMs);
+
+        // İlk kontrol bitene kadar okumalar primary'de
+        routing.checkLag();
+        replicaLagChecker.scheduleWithFixedDelay(routing::checkLag,
+                lagCheckIntervalMs, lagCheckIntervalMs, TimeUnit.MILLISECONDS);
+        return routing;
+    }
+
+    /**
+     * Bağlantı ilk statement'ta alınır; yönlendirme o anki transaction'ın readOnly bilgisine göre yapılır
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private HikariDataSource pool(String url, String name, int size, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(size);
+        config.setReadOnly(readOnly);
+        config.setPoolName(applicationName + "-" + name);
+        config.addDataSourceProperty("ApplicationName", applicationName + "-" + name);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,172 @@
+package com.nightflow.ticketservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * readOnly transaction'ları replikalara, diğer her şeyi primary'ye yönlendirir.
+ *
+ * Bağlantı ilk statement'ta alınmalıdır (LazyConnectionDataSourceProxy), aksi halde
+ * transaction'ın readOnly bilgisi henüz bağlanmamış olur. Replikalar sırayla kullanılır;
+ * gecikmesi max-lag-ms'yi aşan veya kontrolü başarısız olan replika atlanır, hiç
+ * sağlıklı replika yoksa okuma primary'ye düşer. Kullanıcı (X-User-Id) kendi yazma
+ * transaction'ının commit'inden sonraki read-your-writes-ms boyunca primary'den okur.
+ * Bu pencere instance'a özeldir.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // Standby değilse her iki LSN de null döner, gecikme 0 sayılır
+    private static final String LAG_QUERY = """
+            SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                                 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)
+            """;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long maxLagMs;
+    private final long readYourWritesMs;
+
+    // Her kontrolde yenisiyle değiştirilir
+    private volatile boolean[] healthy;
+    private final AtomicInteger next = new AtomicInteger();
+    // Kullanıcı ID -> son yazma commit zamanı
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMs, long readYourWritesMs) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+        this.readYourWritesMs = readYourWritesMs;
+        this.healthy = new boolean[replicas.size()];
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        IntStream.range(0, replicas.size()).forEach(i -> targets.put(replicaKey(i), replicas.get(i)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        if (readsOwnWrite()) {
+            return PRIMARY;
+        }
+        boolean[] current = healthy;
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            if (current[candidate]) {
+                return replicaKey(candidate);
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Replika gecikmelerini ölç, sağlık durumlarını güncelle
+     */
+    void checkLag() {
+        long now = System.currentTimeMillis();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt > readYourWritesMs);
+
+        boolean[] previous = healthy;
+        boolean[] checked = new boolean[replicas.size()];
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean ok;
+            try (Connection connection = replicas.get(i).getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(1);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    double lagMs = rs.getDouble(1);
+                    ok = lagMs <= maxLagMs;
+                    if (!ok && previous[i]) {
+                        log.warn("Replika {} gecikmesi {} ms, okumalar primary'ye yönlendiriliyor", i, Math.round(lagMs));
+                    }
+                }
+            } catch (Exception e) {
+                ok = false;
+                if (previous[i]) {
+                    log.warn("Replika {} kontrol edilemedi, okumalar primary'ye yönlendiriliyor: {}", i, e.getMessage());
+                }
+            }
+            if (ok && !previous[i]) {
+                log.info("Replika {} okumalara açıldı", i);
+            }
+            checked[i] = ok;
+        }
+        healthy = checked;
+    }
+
+    /**
+     * Havuzları kapat (bean destroy)
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void trackWrite() {
+        String userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWrites.put(userId, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private boolean readsOwnWrite() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt <= readYourWritesMs;
+    }
+
+    private static String currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getHeader("X-User-Id");
+        }
+        return null;
+    }
+
+    private static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+}
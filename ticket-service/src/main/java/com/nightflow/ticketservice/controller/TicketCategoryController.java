@@ -1,7 +1,9 @@
 package com.nightflow.ticketservice.controller;
 
+import com.nightflow.ticketservice.dto.SeatMapResponse;
 import com.nightflow.ticketservice.dto.TicketCategoryRequest;
 import com.nightflow.ticketservice.dto.TicketCategoryResponse;
+import com.nightflow.ticketservice.service.SeatMapService;
 import com.nightflow.ticketservice.service.TicketCategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import java.util.List;
 public class TicketCategoryController {
 
     private final TicketCategoryService ticketCategoryService;
+    private final SeatMapService seatMapService;
 
     @PostMapping
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ORGANIZER')")
@@ -38,6 +41,14 @@ public class TicketCategoryController {
         return ResponseEntity.ok(ticketCategoryService.findById(id));
     }
 
+    /**
+     * Numaralı oturma kategorisinin koltuk haritası (frontend çizimi için)
+     */
+    @GetMapping("/{id}/seat-map")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long id) {
+        return ResponseEntity.ok(seatMapService.snapshot(id));
+    }
+
     @PutMapping("/{id}")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ORGANIZER')")
     public ResponseEntity<TicketCategoryResponse> update(
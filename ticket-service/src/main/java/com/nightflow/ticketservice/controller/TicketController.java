@@ -1,18 +1,30 @@
 package com.nightflow.ticketservice.controller;
 
+import com.nightflow.ticketservice.dto.BatchReservationRequest;
+import com.nightflow.ticketservice.dto.BatchReservationResponse;
+import com.nightflow.ticketservice.dto.CategoryAvailabilityResponse;
 import com.nightflow.ticketservice.dto.ReservationRequest;
 import com.nightflow.ticketservice.dto.ReservationResponse;
+import com.nightflow.ticketservice.dto.SaleConfirmationBatchRequest;
+import com.nightflow.ticketservice.dto.SaleConfirmationBatchResponse;
+import com.nightflow.ticketservice.dto.TicketExportRow;
 import com.nightflow.ticketservice.dto.TicketResponse;
 import com.nightflow.ticketservice.service.TicketService;
+import com.nightflow.ticketservice.service.WaitingRoomService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -21,14 +33,61 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final WaitingRoomService waitingRoomService;
+    private final JsonMapper jsonMapper;
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Bekleme odası açık etkinliklerde X-Queue-Token ile kabul edilmiş olmak gerekir.
+     * Token'ı alan kullanıcı (X-User-Id) ile rezervasyonu yapan aynı olmalı.
+     */
     @PostMapping("/reserve")
-    public ResponseEntity<ReservationResponse> reserveTickets(@Valid @RequestBody ReservationRequest request) {
-        return new ResponseEntity<>(ticketService.reserveTickets(request), HttpStatus.CREATED);
+    public ResponseEntity<ReservationResponse> reserveTickets(
+            @Valid @RequestBody ReservationRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        WaitingRoomService.Admission admission =
+                waitingRoomService.checkAdmission(List.of(request.getCategoryId()), queueToken, userId);
+        ReservationResponse response;
+        try {
+            response = ticketService.reserveTickets(request);
+        } catch (RuntimeException e) {
+            // Başarısız rezervasyon kabul hakkını tüketmez
+            waitingRoomService.refund(admission);
+            throw e;
+        }
+        waitingRoomService.recordReservation();
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Çoklu kategori rezervasyonu: tüm kategoriler tek transaction'da ayrılır, biri başarısızsa hiçbiri ayrılmaz
+     */
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<BatchReservationResponse> reserveBatch(
+            @Valid @RequestBody BatchReservationRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        List<Long> categoryIds = request.getItems().stream()
+                .map(BatchReservationRequest.Item::getCategoryId)
+                .distinct()
+                .toList();
+        WaitingRoomService.Admission admission = waitingRoomService.checkAdmission(categoryIds, queueToken, userId);
+        BatchReservationResponse response;
+        try {
+            response = ticketService.reserveBatch(request);
+        } catch (RuntimeException e) {
+            waitingRoomService.refund(admission);
+            throw e;
+        }
+        waitingRoomService.recordReservation();
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
     @GetMapping("/event/{eventId}")
-    public ResponseEntity<List<com.nightflow.ticketservice.entity.TicketCategory>> getCategoriesByEvent(@PathVariable String eventId) {
+    public ResponseEntity<List<CategoryAvailabilityResponse>> getCategoriesByEvent(@PathVariable String eventId) {
         return ResponseEntity.ok(ticketService.getCategoriesByEvent(eventId));
     }
 
@@ -44,6 +103,30 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.getAllTicketsByEvent(eventId));
     }
 
+    /**
+     * CheckInService için: Bir event'in biletlerini NDJSON olarak akıt (satır başına bir bilet).
+     * Sayfalar veritabanından okundukça yazılır, tüm liste bellekte tutulmaz.
+     * INTERNAL ONLY - Sadece SYSTEM rolü erişebilir
+     */
+    @GetMapping(value = "/event/{eventId}/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTicketsByEvent(
+            @PathVariable String eventId,
+            Authentication authentication) {
+        requireSystemRole(authentication);
+        StreamingResponseBody body = out -> ticketService.forEachSoldTicketPage(eventId, page -> {
+            try {
+                for (TicketExportRow row : page) {
+                    out.write(jsonMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     /**
      * Bilet koduna göre bilet bul - Public endpoint (kendi biletini görebilir)
      */
@@ -79,16 +162,44 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.confirmSale(sessionId, orderId, userId));
     }
 
+    /**
+     * OrderService için: Siparişin tüm rezervasyonlarını tek transaction'da onayla.
+     * Bulunamayan session'lar hata vermez, yanıtta missingSessionIds olarak döner.
+     * INTERNAL ONLY - Sadece SYSTEM rolü erişebilir
+     */
+    @PostMapping("/confirm-sale/batch")
+    public ResponseEntity<SaleConfirmationBatchResponse> confirmSaleBatch(
+            @Valid @RequestBody SaleConfirmationBatchRequest request,
+            Authentication authentication) {
+        requireSystemRole(authentication);
+        return ResponseEntity.ok(ticketService.confirmSaleBatch(
+                request.getSessionIds(), request.getOrderId(), request.getUserId()));
+    }
+
     @DeleteMapping("/reserve/{sessionId}")
     public ResponseEntity<Void> cancelReservation(@PathVariable String sessionId) {
         ticketService.cancelReservation(sessionId);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Kullanıcının biletleri (yeniden eskiye, keyset sayfalı).
+     * Sayfa doluysa sonraki sayfa için X-Next-Cursor header'ı döner: ?cursor={değer}
+     */
     @GetMapping("/my-tickets")
-    public ResponseEntity<List<TicketResponse>> getMyTickets(Authentication authentication) {
+    public ResponseEntity<List<TicketResponse>> getMyTickets(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
         Long userId = Long.parseLong((String) authentication.getPrincipal());
-        return ResponseEntity.ok(ticketService.getMyTickets(userId));
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<TicketResponse> tickets = ticketService.getMyTickets(userId, cursor, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tickets.size() == pageSize) {
+            response.header("X-Next-Cursor", String.valueOf(tickets.getLast().getId()));
+        }
+        return response.body(tickets);
     }
     
     /**
@@ -0,0 +1,45 @@
+package com.nightflow.ticketservice.controller;
+
+import com.nightflow.ticketservice.dto.QueueStatusResponse;
+import com.nightflow.ticketservice.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Sanal bekleme odası: sıraya girme, sıra durumu ve odayı açma/kapama
+ */
+@RestController
+@RequestMapping("/tickets/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/{eventId}/join")
+    public ResponseEntity<QueueStatusResponse> join(@PathVariable String eventId,
+                                                    @RequestHeader("X-User-Id") String userId) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, userId));
+    }
+
+    @GetMapping("/{eventId}/status/{token}")
+    public ResponseEntity<QueueStatusResponse> status(@PathVariable String eventId, @PathVariable String token) {
+        return ResponseEntity.ok(waitingRoomService.status(eventId, token));
+    }
+
+    @PutMapping("/{eventId}")
+    @PreAuthorize("hasRole('ORGANIZER')")
+    public ResponseEntity<Void> open(@PathVariable String eventId, Authentication authentication) {
+        waitingRoomService.open(eventId, (String) authentication.getPrincipal());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{eventId}")
+    @PreAuthorize("hasRole('ORGANIZER')")
+    public ResponseEntity<Void> close(@PathVariable String eventId, Authentication authentication) {
+        waitingRoomService.close(eventId, (String) authentication.getPrincipal());
+        return ResponseEntity.noContent().build();
+    }
+}
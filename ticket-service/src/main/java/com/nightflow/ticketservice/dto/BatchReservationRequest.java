@@ -0,0 +1,48 @@
+package com.nightflow.ticketservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Çoklu kategori rezervasyon isteği (tek transaction, hepsi ya da hiçbiri)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchReservationRequest {
+
+    @NotBlank(message = "Session ID zorunludur")
+    private String sessionId;
+
+    @NotEmpty(message = "En az bir kategori seçmelisiniz")
+    @Size(max = 10, message = "Tek istekte en fazla 10 kategori rezerve edilebilir")
+    @Valid
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        @NotNull(message = "Kategori ID zorunludur")
+        private Long categoryId;
+
+        @NotNull(message = "Adet zorunludur")
+        @Min(value = 1, message = "En az 1 bilet seçmelisiniz")
+        private Integer quantity;
+
+        private List<String> seats;  // Numaralı oturmada seçilen koltuklar ("A-15"); boşsa en iyi koltuklar atanır
+    }
+}
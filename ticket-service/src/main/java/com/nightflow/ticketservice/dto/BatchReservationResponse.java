@@ -0,0 +1,21 @@
+package com.nightflow.ticketservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Çoklu kategori rezervasyon yanıtı; kategori başına bir rezervasyon, kategori ID sırasıyla
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchReservationResponse {
+
+    private String sessionId;
+    private List<ReservationResponse> reservations;
+}
@@ -0,0 +1,23 @@
+package com.nightflow.ticketservice.dto;
+
+import com.nightflow.ticketservice.entity.CategoryStatus;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Etkinlik sayfası için kategori müsaitliği (JPQL projection ile doldurulur, bellekte önbelleklenir).
+ * Önbellekteki nesneler istekler arasında paylaşıldığı için değiştirilemez.
+ */
+@Value
+public class CategoryAvailabilityResponse {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer availableQuantity;
+    private CategoryStatus status;
+    private LocalDateTime salesStartAt;
+    private LocalDateTime salesEndAt;
+}
@@ -0,0 +1,30 @@
+package com.nightflow.ticketservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bekleme odası sıra durumu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueStatusResponse {
+
+    private String eventId;
+    private String token;             // Rezervasyonda X-Queue-Token header'ı olarak gönderilir
+    private Status status;
+    private Long position;            // WAITING iken sıradaki yer (1'den başlar)
+    private Long queueDepth;
+    private Double admissionRatePerSecond;
+    private Long retryAfterSeconds;   // Tekrar sorgulamak için önerilen bekleme
+
+    public enum Status {
+        WAITING,    // Sırada
+        ADMITTED,   // Rezervasyon yapabilir
+        UNKNOWN     // Token sırada değil veya kabul süresi dolmuş
+    }
+}
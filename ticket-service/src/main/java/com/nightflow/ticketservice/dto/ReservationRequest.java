@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Bilet rezervasyon isteği
  */
@@ -26,4 +28,6 @@ public class ReservationRequest {
 
     @NotBlank(message = "Session ID zorunludur")
     private String sessionId;
+
+    private List<String> seats;  // Numaralı oturmada seçilen koltuklar ("A-15"); boşsa en iyi koltuklar atanır
 }
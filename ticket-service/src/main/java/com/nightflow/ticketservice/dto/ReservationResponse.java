@@ -20,7 +20,9 @@ public class ReservationResponse {
     private String sessionId;
     private Long categoryId;
     private Integer quantity;
+    // Yalnızca havuz (POOL) kategorilerinde dolu; sayaç ve koltuklu kategorilerde kodlar satış onayında oluşur
     private List<String> ticketCodes;
+    private List<String> seats;
     private LocalDateTime reservedAt;
     private LocalDateTime expiresAt;
     private String message;
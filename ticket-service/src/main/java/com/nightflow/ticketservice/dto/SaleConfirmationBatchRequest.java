@@ -0,0 +1,31 @@
+package com.nightflow.ticketservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Siparişin tüm rezervasyonları için tek satış onayı isteği (OrderService)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleConfirmationBatchRequest {
+
+    @NotEmpty(message = "En az bir session ID gönderilmelidir")
+    @Size(max = 100, message = "Tek istekte en fazla 100 rezervasyon onaylanabilir")
+    private List<String> sessionIds;
+
+    @NotNull(message = "Sipariş ID zorunludur")
+    private Long orderId;
+
+    @NotNull(message = "Kullanıcı ID zorunludur")
+    private Long userId;
+}
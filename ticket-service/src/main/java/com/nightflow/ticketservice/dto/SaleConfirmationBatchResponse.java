@@ -0,0 +1,22 @@
+package com.nightflow.ticketservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu satış onayı yanıtı: oluşan biletler ve rezervasyonu bulunamayan (süresi dolmuş
+ * veya zaten onaylanmış) session ID'ler
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleConfirmationBatchResponse {
+
+    private List<TicketResponse> tickets;
+    private List<String> missingSessionIds;
+}
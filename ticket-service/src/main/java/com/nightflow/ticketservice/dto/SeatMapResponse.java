@@ -0,0 +1,25 @@
+package com.nightflow.ticketservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Koltuk haritası anlık görüntüsü.
+ * takenSeats: Base64, koltuk başına bir bit (little-endian), indeks = satır * seatsPerRow + koltuk.
+ * Bit 1 ise koltuk satılmış veya rezerve. Satır etiketleri A, B, ..., Z, AA, ...
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapResponse {
+
+    private Long categoryId;
+    private Integer seatRows;
+    private Integer seatsPerRow;
+    private Integer availableSeats;
+    private String takenSeats;
+    private Long version;
+}
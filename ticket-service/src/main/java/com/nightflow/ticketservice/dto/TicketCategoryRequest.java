@@ -3,6 +3,8 @@ package com.nightflow.ticketservice.dto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.entity.InventoryMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -35,4 +37,15 @@ public class TicketCategoryRequest {
 
     private LocalDateTime salesStartAt;
     private LocalDateTime salesEndAt;
+
+    private InventoryMode inventoryMode;  // Boşsa COUNTER
+
+    private ConcurrencyStrategy concurrencyStrategy;  // Boşsa inventory.concurrency.strategy
+
+    // Numaralı oturma (opsiyonel): seatRows * seatsPerRow = totalQuantity olmalı
+    @Min(value = 1, message = "En az 1 sıra olmalıdır")
+    private Integer seatRows;
+
+    @Min(value = 1, message = "Sırada en az 1 koltuk olmalıdır")
+    private Integer seatsPerRow;
 }
@@ -1,6 +1,8 @@
 package com.nightflow.ticketservice.dto;
 
 import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.entity.InventoryMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,6 +30,8 @@ public class TicketCategoryResponse implements Serializable {
     private Integer reservedQuantity;
     private Integer availableQuantity;
     private CategoryStatus status;
+    private InventoryMode inventoryMode;
+    private ConcurrencyStrategy concurrencyStrategy;
     private LocalDateTime salesStartAt;
     private LocalDateTime salesEndAt;
     private LocalDateTime createdAt;
@@ -0,0 +1,22 @@
+package com.nightflow.ticketservice.dto;
+
+import com.nightflow.ticketservice.entity.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Check-in ön yüklemesi için bilet satırı (entity yüklenmeden JPQL projection ile doldurulur)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketExportRow {
+
+    private Long id;
+    private String ticketCode;
+    private Long categoryId;
+    private String categoryName;
+    private Long userId;
+    private TicketStatus status;
+}
@@ -0,0 +1,10 @@
+package com.nightflow.ticketservice.entity;
+
+/**
+ * Sayaç modunda rezervasyonun stok sayacını nasıl güncellediği
+ */
+public enum ConcurrencyStrategy {
+    PESSIMISTIC,   // Kategori satırı SELECT ... FOR UPDATE ile kilitlenir, kontrol uygulamada
+    OPTIMISTIC,    // Kilitsiz okuma, @Version ile koşullu yazma; çakışmada rastgele beklemeli tekrar
+    CONDITIONAL    // Tek UPDATE ... WHERE total - sold - reserved >= adet
+}
@@ -0,0 +1,13 @@
+package com.nightflow.ticketservice.entity;
+
+/**
+ * Outbox üzerinden yayınlanan stok / bilet durumu olayının türü
+ */
+public enum InventoryEventType {
+    TICKETS_RESERVED,     // Rezervasyon: quantity adet geçici olarak ayrıldı
+    TICKETS_SOLD,         // Satış onayı: quantity adet satıldı
+    TICKETS_RELEASED,     // İptal veya süre aşımı: quantity adet stoğa döndü
+    TICKET_CHECKED_IN,    // Bilet check-in yapıldı (USED)
+    CATEGORY_SOLD_OUT,    // Kategori tükendi
+    CATEGORY_AVAILABLE    // Tükenmiş kategori tekrar satışta
+}
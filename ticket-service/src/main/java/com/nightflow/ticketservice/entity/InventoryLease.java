@@ -0,0 +1,52 @@
+package com.nightflow.ticketservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir ticket-service instance'ının kategori stoğundan kiraladığı blok.
+ * Kiralanan adet kategoride reservedQuantity olarak tutulur, instance bu bloğu
+ * bellekteki sayaçtan dağıtır.
+ */
+@Entity
+@Table(name = "inventory_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String ownerId;  // Kiralayan instance
+
+    @Column(nullable = false)
+    private Integer grantedQuantity;  // Kiralanan toplam adet
+
+    /**
+     * Instance çökerse geri verilebilecek adet.
+     * Sahip instance dağıtmadan önce bu değeri düşürür, böylece her zaman
+     * gerçek kalan miktara eşit veya ondan küçüktür.
+     */
+    @Column(nullable = false)
+    private Integer reclaimableQuantity;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
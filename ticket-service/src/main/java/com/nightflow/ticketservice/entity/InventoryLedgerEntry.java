@@ -0,0 +1,59 @@
+package com.nightflow.ticketservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stok defteri kaydı: kategori sayaçlarına eklenecek delta.
+ * Sıkıştırıcı kaydı sayaçlara katladığında compacted = true olur; kayıt denetim için saklanır.
+ */
+@Entity
+@Table(name = "inventory_ledger")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_ledger_seq")
+    @SequenceGenerator(name = "inventory_ledger_seq", sequenceName = "inventory_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerEntryType entryType;
+
+    @Column(nullable = false)
+    private Integer reservedDelta;
+
+    @Column(nullable = false)
+    private Integer soldDelta;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer totalDelta = 0;
+
+    private String sessionId;
+    private Long orderId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean compacted = false;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
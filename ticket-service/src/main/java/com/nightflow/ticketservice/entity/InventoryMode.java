@@ -0,0 +1,9 @@
+package com.nightflow.ticketservice.entity;
+
+/**
+ * Kategori stok modeli
+ */
+public enum InventoryMode {
+    COUNTER,   // Sayaç: biletler satış onayında oluşturulur
+    POOL       // Havuz: biletler önceden oluşturulur, rezervasyon SKIP LOCKED ile satır sahiplenir
+}
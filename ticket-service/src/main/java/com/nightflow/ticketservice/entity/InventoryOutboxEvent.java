@@ -0,0 +1,53 @@
+package com.nightflow.ticketservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stok / bilet durumu olayı (transactional outbox).
+ * Değişiklikle aynı transaction'da eklenir; relay Kafka'ya gönderdiğinde publishedAt dolar.
+ */
+@Entity
+@Table(name = "inventory_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_outbox_seq")
+    @SequenceGenerator(name = "inventory_outbox_seq", sequenceName = "inventory_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InventoryEventType eventType;
+
+    // Kafka mesaj anahtarı: aynı etkinliğin olayları aynı bölümde sıralı
+    @Column(nullable = false)
+    private String eventId;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    private Integer quantity;
+    private String sessionId;
+    private Long orderId;
+    private String ticketCode;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nightflow.ticketservice.entity;
+
+/**
+ * Stok defteri kaydının türü
+ */
+public enum LedgerEntryType {
+    RESERVE,   // Rezervasyon: reserved +
+    CONFIRM,   // Satış onayı: reserved -, sold +
+    CANCEL,    // Kullanıcı iptali: reserved -
+    EXPIRE,    // Süre aşımı: reserved -
+    ADJUST     // Toplam miktar değişikliği (sadece kayıt, sayaca doğrudan yazılır)
+}
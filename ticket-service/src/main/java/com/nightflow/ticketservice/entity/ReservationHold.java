@@ -0,0 +1,54 @@
+package com.nightflow.ticketservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Geçici rezervasyon - rezervasyon başına tek satır.
+ * Bilet satırları ve kodları satış onaylandığında oluşturulur.
+ */
+@Entity
+@Table(name = "reservation_holds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_hold_seq")
+    @SequenceGenerator(name = "reservation_hold_seq", sequenceName = "reservation_hold_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String sessionId;  // Rezervasyon session ID
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(length = 2000)
+    private String seats;  // Numaralı oturmada atanan koltuklar: "A-15,A-16"
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;  // Rezervasyon zamanı
+
+    public List<String> seatLabels() {
+        return seats == null || seats.isEmpty() ? List.of() : List.of(seats.split(","));
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
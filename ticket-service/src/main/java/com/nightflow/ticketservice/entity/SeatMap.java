@@ -0,0 +1,37 @@
+package com.nightflow.ticketservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Numaralı oturma düzeni olan kategorinin koltuk haritası.
+ * Koltuk başına bir bit (1 = satılmış/rezerve), satır x koltuk ızgarası.
+ */
+@Entity
+@Table(name = "seat_maps")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMap {
+
+    @Id
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private Integer seatRows;
+
+    @Column(nullable = false)
+    private Integer seatsPerRow;
+
+    @Column(nullable = false)
+    private byte[] takenSeats;
+
+    @Version
+    private Long version;
+
+    private LocalDateTime updatedAt;
+}
@@ -2,12 +2,13 @@ package com.nightflow.ticketservice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
- * Bireysel bilet
+ * Bireysel bilet. Tablo bölümlü; bölümleme ve indeksler db/migration altında.
  */
 @Entity
 @Table(name = "tickets")
@@ -19,10 +20,12 @@ import java.util.UUID;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    // Bölümlü tabloda unique kısıt bölüm anahtarını içermek zorunda; tekillik ticket_codes tablosunda (V8 trigger'ı)
+    @Column(nullable = false)
     private String ticketCode;  // UUID - QR için
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,10 +42,17 @@ public class Ticket {
     private TicketStatus status = TicketStatus.AVAILABLE;
 
     private String sessionId;      // Rezervasyon session ID
+    private Long holdId;           // Havuz modunda sahiplenen rezervasyon
     private LocalDateTime reservedAt;
     private LocalDateTime soldAt;
     private LocalDateTime usedAt;  // Check-in zamanı
 
+    // Geçmiş etkinliğin kapanmış bileti; tickets_archive bölümünde durur (bkz. TicketArchiver)
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @Builder.Default
+    private boolean archived = false;
+
     private LocalDateTime createdAt;
 
     @PrePersist
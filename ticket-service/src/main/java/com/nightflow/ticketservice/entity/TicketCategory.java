@@ -2,14 +2,18 @@ package com.nightflow.ticketservice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * Bilet kategorisi - VIP, Genel, Balkon vb.
+ * Güncellemeler sadece değişen sütunları yazar; kategori düzenlemesi, arada artan
+ * stok sayaçlarını eski değerleriyle ezmez. Satırı değiştiren her güncelleme version'ı artırır.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "ticket_categories")
 @Getter
 @Setter
@@ -19,7 +23,8 @@ import java.time.LocalDateTime;
 public class TicketCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_category_seq")
+    @SequenceGenerator(name = "ticket_category_seq", sequenceName = "ticket_category_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -46,6 +51,19 @@ public class TicketCategory {
     @Builder.Default
     private CategoryStatus status = CategoryStatus.AVAILABLE;
 
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private InventoryMode inventoryMode = InventoryMode.COUNTER;
+
+    // Boşsa inventory.concurrency.strategy
+    @Enumerated(EnumType.STRING)
+    private ConcurrencyStrategy concurrencyStrategy;
+
+    // Stok sayaçlarını değiştiren her statement artırır (iyimser rezervasyon buna göre yazar)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     private LocalDateTime salesStartAt;
     private LocalDateTime salesEndAt;
 
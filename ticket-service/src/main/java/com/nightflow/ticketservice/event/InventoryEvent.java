@@ -0,0 +1,19 @@
+package com.nightflow.ticketservice.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * inventory-events topic'ine gönderilen mesaj (anahtar: eventId).
+ * id outbox kaydının ID'sidir; relay en az bir kez gönderir, tüketiciler tekrarları id ile ayıklar.
+ */
+public record InventoryEvent(
+    Long id,
+    String type,
+    String eventId,
+    Long categoryId,
+    Integer quantity,
+    String sessionId,
+    Long orderId,
+    String ticketCode,
+    LocalDateTime occurredAt
+) {}
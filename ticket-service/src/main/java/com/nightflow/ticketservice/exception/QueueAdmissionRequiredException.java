@@ -0,0 +1,20 @@
+package com.nightflow.ticketservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Bekleme odası açık bir etkinlikte geçerli kabul token'ı olmadan yapılan istek
+ */
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class QueueAdmissionRequiredException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public QueueAdmissionRequiredException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nightflow.ticketservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Kategorinin satış penceresi dışında rezervasyon denemesi
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SalesWindowClosedException extends RuntimeException {
+
+    public SalesWindowClosedException(String message) {
+        super(message);
+    }
+}
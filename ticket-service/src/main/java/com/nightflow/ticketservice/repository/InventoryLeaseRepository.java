@@ -0,0 +1,35 @@
+package com.nightflow.ticketservice.repository;
+
+import com.nightflow.ticketservice.entity.InventoryLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryLeaseRepository extends JpaRepository<InventoryLease, Long> {
+
+    /**
+     * Sahibi tarafından geri verilmemiş, süresi geçmiş kiralamalar
+     */
+    @Query("SELECT l FROM InventoryLease l WHERE l.expiresAt < :before")
+    List<InventoryLease> findOrphaned(@Param("before") LocalDateTime before);
+
+    /**
+     * Geri verilebilir adedi düşür (sadece azaltılabilir)
+     */
+    @Modifying
+    @Query("UPDATE InventoryLease l SET l.reclaimableQuantity = :quantity WHERE l.id = :id AND l.reclaimableQuantity > :quantity")
+    int lowerReclaimable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Kiralamayı sil - tek bir instance'ın geri iade yapabilmesi için satır sayısı döner
+     */
+    @Modifying
+    @Query("DELETE FROM InventoryLease l WHERE l.id = :id")
+    int deleteLease(@Param("id") Long id);
+}
@@ -0,0 +1,105 @@
+package com.nightflow.ticketservice.repository;
+
+import com.nightflow.ticketservice.entity.InventoryLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryLedgerRepository extends JpaRepository<InventoryLedgerEntry, Long> {
+
+    /**
+     * Kategorinin defter kilidi (transaction sonuna kadar). Sadece stoğu azaltan işlemler alır; kategorinin
+     * bütün RESERVE'leri bu kilidin arkasında sıralanır. Tek bigint anahtar: üst 16 bit 4101 ad alanı,
+     * alt 48 bit kategori id'si (integer'a çevrilmez, 2^31 üstü id'lerde taşmaz).
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock((CAST(4101 AS bigint) << 48) | :categoryId)",
+            nativeQuery = true)
+    Integer lockCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Katlanmış sayaçlar + bekleyen deltalara göre stok yeterliyse RESERVE kaydı ekle.
+     * Kilitten sonra ayrı statement olarak çalışmalı; aksi halde kilit beklenirken alınan eski görüntüyle karar verir.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO inventory_ledger (id, category_id, entry_type, reserved_delta, sold_delta, total_delta,
+                                          session_id, compacted, created_at)
+            SELECT nextval('inventory_ledger_seq'), c.id, 'RESERVE', :quantity, 0, 0, :sessionId, false, now()
+            FROM ticket_categories c
+            WHERE c.id = :categoryId
+              AND c.total_quantity - c.sold_quantity - c.reserved_quantity
+                  - COALESCE((SELECT SUM(l.reserved_delta + l.sold_delta) FROM inventory_ledger l
+                              WHERE l.category_id = c.id AND NOT l.compacted), 0) >= :quantity
+            """, nativeQuery = true)
+    int reserveIfAvailable(@Param("categoryId") Long categoryId,
+                           @Param("quantity") int quantity,
+                           @Param("sessionId") String sessionId);
+
+    /**
+     * Satılan + rezerve miktar, henüz katlanmamış deltalar dahil
+     */
+    @Query(value = """
+            SELECT c.sold_quantity + c.reserved_quantity
+                   + COALESCE((SELECT SUM(l.reserved_delta + l.sold_delta) FROM inventory_ledger l
+                               WHERE l.category_id = c.id AND NOT l.compacted), 0)
+            FROM ticket_categories c
+            WHERE c.id = :categoryId
+            """, nativeQuery = true)
+    Optional<Long> countTaken(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT DISTINCT e.categoryId FROM InventoryLedgerEntry e WHERE e.compacted = false")
+    List<Long> findCategoriesWithPendingEntries();
+
+    /**
+     * Kategorinin bekleyen deltalarını tek statement'ta sayaçlara katla; katlanan kayıt sayısı döner.
+     * Henüz commit olmamış kayıtlar görünmez, bir sonraki sıkıştırmada katlanır. Okuyucular
+     * (tek statement) sayaçları ve bekleyen deltaları her zaman aynı anın görüntüsünden görür.
+     */
+    @Query(value = """
+            WITH folded AS (
+                UPDATE inventory_ledger
+                SET compacted = true
+                WHERE category_id = :categoryId AND NOT compacted
+                RETURNING reserved_delta, sold_delta
+            ),
+            totals AS (
+                SELECT COUNT(*) AS entries,
+                       COALESCE(SUM(reserved_delta), 0) AS reserved,
+                       COALESCE(SUM(sold_delta), 0) AS sold
+                FROM folded
+            ),
+            applied AS (
+                UPDATE ticket_categories c
+                SET reserved_quantity = GREATEST(c.reserved_quantity + t.reserved, 0),
+                    sold_quantity = c.sold_quantity + t.sold,
+                    updated_at = now(),
+                    version = c.version + 1
+                FROM totals t
+                WHERE c.id = :categoryId AND t.entries > 0
+                RETURNING c.id
+            )
+            SELECT CAST(entries AS integer) FROM totals
+            """, nativeQuery = true)
+    int compact(@Param("categoryId") Long categoryId);
+
+    /**
+     * Saklama süresi dolmuş, katlanmış kayıtlardan bir grubu sil
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM inventory_ledger
+            WHERE id IN (
+                SELECT id FROM inventory_ledger
+                WHERE compacted AND created_at < :before
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int purgeCompacted(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,43 @@
+package com.nightflow.ticketservice.repository;
+
+import com.nightflow.ticketservice.entity.InventoryOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEvent, Long> {
+
+    /**
+     * Relay kilidi (transaction sonuna kadar): aynı anda tek instance gönderir, sıra korunur
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(4102, 0)", nativeQuery = true)
+    boolean tryLockRelay();
+
+    @Query("SELECT e FROM InventoryOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<InventoryOutboxEvent> findUnpublished(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE InventoryOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Saklama süresi dolmuş, gönderilmiş kayıtlardan bir grubu sil
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM inventory_outbox
+            WHERE id IN (
+                SELECT id FROM inventory_outbox
+                WHERE published_at < :before
+                LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int purgePublished(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
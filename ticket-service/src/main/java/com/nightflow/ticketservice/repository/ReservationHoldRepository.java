@@ -0,0 +1,75 @@
+package com.nightflow.ticketservice.repository;
+
+import com.nightflow.ticketservice.entity.ReservationHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationHoldRepository extends JpaRepository<ReservationHold, Long> {
+
+    /**
+     * Session'a ait rezervasyonları tek statement'ta sil ve silinenleri döndür.
+     * Süre aşımı ile aynı anda çalışırsa satırı sadece biri alır.
+     */
+    @Query(value = """
+            WITH released AS (
+                DELETE FROM reservation_holds
+                WHERE session_id = :sessionId
+                RETURNING *
+            )
+            SELECT * FROM released
+            """, nativeQuery = true)
+    List<ReservationHold> deleteBySessionIdReturning(@Param("sessionId") String sessionId);
+
+    /**
+     * Birden fazla session'ın rezervasyonlarını tek statement'ta sil ve silinenleri döndür
+     */
+    @Query(value = """
+            WITH released AS (
+                DELETE FROM reservation_holds
+                WHERE session_id IN (:sessionIds)
+                RETURNING *
+            )
+            SELECT * FROM released
+            """, nativeQuery = true)
+    List<ReservationHold> deleteBySessionIdsReturning(@Param("sessionIds") Collection<String> sessionIds);
+
+    /**
+     * Süre aşımı zamanlayıcısını yeniden kurmak için tüm rezervasyonların bitiş zamanları
+     */
+    @Query("SELECT h.id AS id, h.expiresAt AS expiresAt FROM ReservationHold h")
+    List<HoldDeadline> findAllDeadlines();
+
+    /**
+     * Süresi dolmuş rezervasyon ID'leri (en eskiden başlayarak)
+     */
+    @Query("SELECT h.id FROM ReservationHold h WHERE h.expiresAt < :before ORDER BY h.expiresAt")
+    List<Long> findExpiredIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Süresi dolmuş rezervasyonları tek statement'ta sil ve silinenleri döndür.
+     * Başka bir instance veya satış onayı tarafından silinmiş satırlar sonuca girmez.
+     */
+    @Query(value = """
+            WITH released AS (
+                DELETE FROM reservation_holds
+                WHERE id IN (:ids) AND expires_at <= :now
+                RETURNING *
+            )
+            SELECT * FROM released
+            """, nativeQuery = true)
+    List<ReservationHold> deleteExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    interface HoldDeadline {
+        Long getId();
+
+        LocalDateTime getExpiresAt();
+    }
+}
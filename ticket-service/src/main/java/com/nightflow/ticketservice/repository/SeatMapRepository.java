@@ -0,0 +1,22 @@
+package com.nightflow.ticketservice.repository;
+
+import com.nightflow.ticketservice.entity.SeatMap;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SeatMapRepository extends JpaRepository<SeatMap, Long> {
+
+    /**
+     * Pessimistic lock ile koltuk haritası getir - koltuk ataması için
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sm FROM SeatMap sm WHERE sm.categoryId = :categoryId")
+    Optional<SeatMap> findByIdWithLock(@Param("categoryId") Long categoryId);
+}
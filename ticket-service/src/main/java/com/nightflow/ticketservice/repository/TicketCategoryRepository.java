@@ -1,6 +1,9 @@
 package com.nightflow.ticketservice.repository;
 
+import com.nightflow.ticketservice.dto.CategoryAvailabilityResponse;
 import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.entity.InventoryMode;
 import com.nightflow.ticketservice.entity.TicketCategory;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +12,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +24,23 @@ public interface TicketCategoryRepository extends JpaRepository<TicketCategory,
 
     List<TicketCategory> findByEventId(String eventId);
 
-    List<TicketCategory> findByEventIdAndStatus(String eventId, CategoryStatus status);
+    List<TicketCategory> findBySalesStartAtBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Etkinlik sayfası müsaitliği; entity yüklenmeden tek sorgu.
+     * readOnly: replika yönlendirmesi açıksa replikadan okunur (görüntü zaten birkaç saniye eski olabilir).
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new com.nightflow.ticketservice.dto.CategoryAvailabilityResponse(
+                tc.id, tc.name, tc.price, tc.totalQuantity - tc.soldQuantity - tc.reservedQuantity,
+                tc.status, tc.salesStartAt, tc.salesEndAt)
+            FROM TicketCategory tc
+            WHERE tc.eventId = :eventId AND tc.status IN :statuses
+            ORDER BY tc.id
+            """)
+    List<CategoryAvailabilityResponse> findAvailability(@Param("eventId") String eventId,
+                                                        @Param("statuses") Collection<CategoryStatus> statuses);
 
     /**
      * Pessimistic lock ile kategori getir - envanter güncellemesi için
@@ -31,20 +53,115 @@ public interface TicketCategoryRepository extends JpaRepository<TicketCategory,
      * Rezerve miktarını artır
      */
     @Modifying
-    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP WHERE tc.id = :id")
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id")
     int incrementReserved(@Param("id") Long id, @Param("quantity") int quantity);
 
+    /**
+     * Stok yeterliyse rezerve miktarını artır (tek satırlık koşullu güncelleme)
+     */
+    @Modifying
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id AND tc.totalQuantity - tc.soldQuantity - tc.reservedQuantity >= :quantity")
+    int reserveIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Stok, okunduğu sürümden beri değişmediyse rezerve miktarını artır (iyimser rezervasyon)
+     */
+    @Modifying
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id AND tc.version = :version")
+    int reserveIfVersion(@Param("id") Long id, @Param("quantity") int quantity, @Param("version") long version);
+
     /**
      * Rezerve miktarını azalt
      */
     @Modifying
-    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity - :quantity, tc.updatedAt = CURRENT_TIMESTAMP WHERE tc.id = :id AND tc.reservedQuantity >= :quantity")
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity - :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id AND tc.reservedQuantity >= :quantity")
     int decrementReserved(@Param("id") Long id, @Param("quantity") int quantity);
 
     /**
      * Satış işlemi: reserved -> sold
      */
     @Modifying
-    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity - :quantity, tc.soldQuantity = tc.soldQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP WHERE tc.id = :id AND tc.reservedQuantity >= :quantity")
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = tc.reservedQuantity - :quantity, tc.soldQuantity = tc.soldQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id AND tc.reservedQuantity >= :quantity")
     int confirmSale(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Satış işlemi, reserved sayacı tutarsızsa: reserved sıfırlanır, sold yine artar
+     */
+    @Modifying
+    @Query("UPDATE TicketCategory tc SET tc.reservedQuantity = 0, tc.soldQuantity = tc.soldQuantity + :quantity, tc.updatedAt = CURRENT_TIMESTAMP, tc.version = tc.version + 1 WHERE tc.id = :id")
+    int confirmSaleClampingReserved(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Havuz modu: reserved/sold sayaçlarını bilet durumlarından yeniden hesapla
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE ticket_categories c
+            SET reserved_quantity = s.reserved, sold_quantity = s.sold, updated_at = now(), version = c.version + 1
+            FROM (
+                SELECT category_id,
+                       COUNT(*) FILTER (WHERE status = 'RESERVED') AS reserved,
+                       COUNT(*) FILTER (WHERE status IN ('SOLD', 'USED')) AS sold
+                FROM tickets
+                WHERE category_id IN (:ids)
+                GROUP BY category_id
+            ) s
+            WHERE c.id = s.category_id
+            """, nativeQuery = true)
+    int syncPoolCounters(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stoğu biten kategorileri SOLD_OUT, stoğu geri gelenleri AVAILABLE yap; sadece durumu
+     * değişenler döner (id, event_id, yeni durum). Kiralaması açık kategori tükenmiş sayılmaz,
+     * kiralanan stok henüz instance'larda satılıyor olabilir.
+     */
+    @Query(value = """
+            WITH flipped AS (
+                UPDATE ticket_categories c
+                SET status = CASE WHEN c.status = 'AVAILABLE' THEN 'SOLD_OUT' ELSE 'AVAILABLE' END,
+                    updated_at = now(),
+                    version = c.version + 1
+                WHERE c.id IN (:ids)
+                  AND ((c.status = 'AVAILABLE'
+                        AND c.total_quantity - c.sold_quantity - c.reserved_quantity <= 0
+                        AND NOT EXISTS (SELECT 1 FROM inventory_leases l WHERE l.category_id = c.id))
+                    OR (c.status = 'SOLD_OUT'
+                        AND c.total_quantity - c.sold_quantity - c.reserved_quantity > 0))
+                RETURNING c.id, c.event_id, c.status
+            )
+            SELECT id, event_id, status FROM flipped
+            """, nativeQuery = true)
+    List<Object[]> flipSoldOutStatus(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT tc.id FROM TicketCategory tc WHERE tc.status = :status")
+    List<Long> findIdsByStatus(@Param("status") CategoryStatus status);
+
+    /**
+     * Kategori satırını kilitle (transaction sonuna kadar) ve güncel stoğu oku; entity yüklenmez,
+     * persistence context'teki eski kopya kararı etkilemez
+     */
+    @Query(value = """
+            SELECT version, total_quantity - sold_quantity - reserved_quantity AS available
+            FROM ticket_categories WHERE id = :id
+            FOR UPDATE
+            """, nativeQuery = true)
+    Optional<CategoryStock> lockStockById(@Param("id") Long id);
+
+    @Query("SELECT tc.version AS version, tc.totalQuantity - tc.soldQuantity - tc.reservedQuantity AS available FROM TicketCategory tc WHERE tc.id = :id")
+    Optional<CategoryStock> findStockById(@Param("id") Long id);
+
+    @Query("SELECT tc.concurrencyStrategy FROM TicketCategory tc WHERE tc.id = :id")
+    Optional<ConcurrencyStrategy> findConcurrencyStrategyById(@Param("id") Long id);
+
+    @Query("SELECT tc.inventoryMode FROM TicketCategory tc WHERE tc.id = :id")
+    Optional<InventoryMode> findInventoryModeById(@Param("id") Long id);
+
+    @Query("SELECT tc.eventId FROM TicketCategory tc WHERE tc.id = :id")
+    Optional<String> findEventIdById(@Param("id") Long id);
+
+    interface CategoryStock {
+        Long getVersion();
+
+        Integer getAvailable();
+    }
 }
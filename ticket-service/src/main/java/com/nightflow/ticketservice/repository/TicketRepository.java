@@ -1,7 +1,10 @@
 package com.nightflow.ticketservice.repository;
 
+import com.nightflow.ticketservice.dto.TicketExportRow;
+import com.nightflow.ticketservice.dto.TicketResponse;
 import com.nightflow.ticketservice.entity.Ticket;
 import com.nightflow.ticketservice.entity.TicketStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,49 +12,152 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
+    /**
+     * Bilet + kategori bilgisi tek sorguda TicketResponse'a (entity ve lazy category yüklenmez)
+     */
+    String RESPONSE_SELECT = "SELECT new com.nightflow.ticketservice.dto.TicketResponse(" +
+            "t.id, t.ticketCode, c.id, c.name, c.eventId, t.orderId, t.userId, t.seatInfo, " +
+            "t.status, t.reservedAt, t.soldAt, t.usedAt) " +
+            "FROM Ticket t JOIN t.category c ";
+
     Optional<Ticket> findByTicketCode(String ticketCode);
 
     List<Ticket> findByCategoryId(Long categoryId);
 
     List<Ticket> findByCategoryIdAndStatus(Long categoryId, TicketStatus status);
 
+    @Query(RESPONSE_SELECT + "WHERE t.ticketCode = :ticketCode")
+    Optional<TicketResponse> findResponseByTicketCode(@Param("ticketCode") String ticketCode);
+
     /**
      * CheckInService için: Birden fazla kategori ID'sine göre bilet getir
      */
-    List<Ticket> findByCategoryIdInAndStatus(List<Long> categoryIds, TicketStatus status);
+    @Query(RESPONSE_SELECT + "WHERE c.id IN :categoryIds AND t.status = :status")
+    List<TicketResponse> findResponsesByCategoryIdInAndStatus(@Param("categoryIds") List<Long> categoryIds,
+                                                              @Param("status") TicketStatus status);
 
-    List<Ticket> findByOrderId(Long orderId);
+    /**
+     * Kullanıcının biletleri, yeniden eskiye keyset sayfa: id < beforeId
+     */
+    @Query(RESPONSE_SELECT + "WHERE t.userId = :userId AND t.id < :beforeId ORDER BY t.id DESC")
+    List<TicketResponse> findResponsesByUserId(@Param("userId") Long userId,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
+    /**
+     * Dışa aktarım için keyset sayfa: id > afterId, id sırasıyla. Entity yüklenmez.
+     */
+    @Query("SELECT new com.nightflow.ticketservice.dto.TicketExportRow(t.id, t.ticketCode, c.id, c.name, t.userId, t.status) " +
+            "FROM Ticket t JOIN t.category c " +
+            "WHERE c.id IN :categoryIds AND t.status = :status AND t.id > :afterId ORDER BY t.id")
+    List<TicketExportRow> findExportPage(@Param("categoryIds") List<Long> categoryIds,
+                                         @Param("status") TicketStatus status,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
 
-    List<Ticket> findByUserId(Long userId);
+    List<Ticket> findByOrderId(Long orderId);
 
     /**
-     * Belirli sayıda available bilet getir (pessimistic lock ile)
+     * Havuz modu: kategori için önceden bilet oluştur (koltuk numarası fromSeat..toSeat).
+     * ticket_seq INCREMENT BY 50 olduğundan her nextval Hibernate'in pooled optimizer'ı gibi
+     * 50 id'lik bir blok ayırır (nextval - 49 .. nextval); satır başına nextval 49 id'yi çöpe atardı.
+     * Blok boyu Ticket'taki allocationSize ile aynı olmalı.
      */
-    @Query(value = "SELECT * FROM tickets WHERE category_id = :categoryId AND status = 'AVAILABLE' ORDER BY id LIMIT :count FOR UPDATE", nativeQuery = true)
-    List<Ticket> findAvailableTicketsForReservation(@Param("categoryId") Long categoryId, @Param("count") int count);
+    @Modifying
+    @Query(value = """
+            WITH blocks AS MATERIALIZED (
+                SELECT b, nextval('ticket_seq') AS hi
+                FROM generate_series(0, (:toSeat - :fromSeat) / 50) AS b
+            )
+            INSERT INTO tickets (id, ticket_code, category_id, seat_info, status, created_at)
+            SELECT blocks.hi - 49 + (n - :fromSeat) % 50, CAST(gen_random_uuid() AS varchar), :categoryId, CAST(n AS varchar), 'AVAILABLE', now()
+            FROM generate_series(:fromSeat, :toSeat) AS n
+            JOIN blocks ON blocks.b = (n - :fromSeat) / 50
+            """, nativeQuery = true)
+    int mintTickets(@Param("categoryId") Long categoryId, @Param("fromSeat") int fromSeat, @Param("toSeat") int toSeat);
 
     /**
-     * Session ID ile rezerve edilmiş biletleri getir
+     * Havuz modu: available biletlerden belirli sayıda sahiplen.
+     * SKIP LOCKED sayesinde eşzamanlı alıcılar birbirini beklemeden farklı satırları alır.
      */
-    List<Ticket> findBySessionIdAndStatus(String sessionId, TicketStatus status);
+    @Query(value = """
+            WITH claimed AS (
+                UPDATE tickets
+                SET status = 'RESERVED', hold_id = :holdId, session_id = :sessionId, reserved_at = :now
+                WHERE id IN (
+                    SELECT id FROM tickets
+                    WHERE category_id = :categoryId AND status = 'AVAILABLE'
+                    ORDER BY id
+                    LIMIT :count
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING ticket_code
+            )
+            SELECT ticket_code FROM claimed
+            """, nativeQuery = true)
+    List<String> claimAvailable(@Param("categoryId") Long categoryId,
+                                @Param("holdId") Long holdId,
+                                @Param("sessionId") String sessionId,
+                                @Param("now") LocalDateTime now,
+                                @Param("count") int count);
 
     /**
-     * Süresi dolmuş rezervasyonları temizle
+     * Havuz modu: rezervasyonların sahiplendiği biletleri satışa çevir
      */
+    @Query(value = """
+            WITH sold AS (
+                UPDATE tickets
+                SET status = 'SOLD', order_id = :orderId, user_id = :userId, sold_at = :now, session_id = NULL
+                WHERE hold_id IN (:holdIds) AND status = 'RESERVED'
+                RETURNING *
+            )
+            SELECT * FROM sold
+            """, nativeQuery = true)
+    List<Ticket> sellClaimed(@Param("holdIds") Collection<Long> holdIds,
+                             @Param("orderId") Long orderId,
+                             @Param("userId") Long userId,
+                             @Param("now") LocalDateTime now);
+
     /**
-     * Süresi dolmuş rezervasyonları getir
+     * Havuz modu: rezervasyonların sahiplendiği biletleri tekrar available yap.
+     * Satırlar: [category_id, count]
      */
-    @Query("SELECT t FROM Ticket t WHERE t.status = 'RESERVED' AND t.reservedAt < :expireTime")
-    List<Ticket> findExpiredReservations(@Param("expireTime") LocalDateTime expireTime);
+    @Query(value = """
+            WITH reverted AS (
+                UPDATE tickets
+                SET status = 'AVAILABLE', hold_id = NULL, session_id = NULL, reserved_at = NULL
+                WHERE hold_id IN (:holdIds) AND status = 'RESERVED'
+                RETURNING category_id
+            )
+            SELECT category_id, COUNT(*) FROM reverted GROUP BY category_id
+            """, nativeQuery = true)
+    List<Object[]> revertClaimed(@Param("holdIds") Collection<Long> holdIds);
 
     /**
-     * Session için bilet sayısı
+     * Geçmiş etkinliklerin kullanılmış/iptal biletlerinden bir grubu arşivle.
+     * Bölümlü tabloda satırlar tickets_archive bölümüne taşınır. SKIP LOCKED ile
+     * birden fazla instance aynı anda çalışabilir.
      */
-    long countBySessionIdAndStatus(String sessionId, TicketStatus status);
+    @Modifying
+    @Query(value = """
+            UPDATE tickets SET archived = true
+            WHERE id IN (
+                SELECT t.id FROM tickets t
+                JOIN ticket_categories c ON c.id = t.category_id
+                WHERE t.archived = false
+                  AND t.status IN ('USED', 'CANCELLED')
+                  AND (t.used_at < :cutoff OR c.sales_end_at < :cutoff)
+                LIMIT :batchSize
+                FOR UPDATE OF t SKIP LOCKED
+            )
+            AND archived = false
+            """, nativeQuery = true)
+    int archiveClosedTickets(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,165 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.dto.CategoryAvailabilityResponse;
+import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Etkinlik başına kategori müsaitliği anlık görüntüsü (bellekte).
+ *
+ * Her etkinliğin bir sürüm sayacı vardır; stok değiştiren her işlem commit'ten
+ * sonra sayacı artırır. Okumalar bellekten karşılanır: sürüm değişmişse veya
+ * görüntü refresh-after-ms'den eskiyse eski görüntü döner ve arka planda
+ * yenilenir (stale-while-revalidate). max-staleness-ms'den eski görüntü hiç
+ * dönmez, istek veritabanından okur. Sayaç instance'a özeldir; diğer
+ * instance'ların değişiklikleri en geç refresh-after-ms sonra görünür.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvailabilityCache {
+
+    private static final List<CategoryStatus> VISIBLE_STATUSES = List.of(CategoryStatus.AVAILABLE, CategoryStatus.SOLD_OUT);
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${inventory.snapshot.refresh-after-ms:1000}")
+    private long refreshAfterMs;
+
+    @Value("${inventory.snapshot.max-staleness-ms:5000}")
+    private long maxStalenessMs;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Snapshot>> loading = new ConcurrentHashMap<>();
+
+    // Kategorinin etkinliği değişmez
+    private final Map<Long, String> eventIds = new ConcurrentHashMap<>();
+
+    /**
+     * Etkinliğin satıştaki ve tükenmiş kategorileri, mevcut stokları
+     */
+    public List<CategoryAvailabilityResponse> get(String eventId) {
+        Snapshot snapshot = snapshots.get(eventId);
+        long age = snapshot != null ? System.currentTimeMillis() - snapshot.loadedAt() : Long.MAX_VALUE;
+        if (age > maxStalenessMs) {
+            return load(eventId).categories();
+        }
+        if (age > refreshAfterMs || snapshot.version() != version(eventId).get()) {
+            refreshInBackground(eventId);
+        }
+        return snapshot.categories();
+    }
+
+    /**
+     * Kategorinin stoğu değişti; commit'ten sonra etkinliğin sürümü artırılır ve
+     * InventoryChangedEvent yayınlanır (SoldOutTracker dinler)
+     */
+    public void markChanged(Long categoryId) {
+        String eventId = eventIdOf(categoryId);
+        afterCommit(() -> {
+            if (eventId != null) {
+                version(eventId).incrementAndGet();
+            }
+            eventPublisher.publishEvent(new InventoryChangedEvent(categoryId));
+        });
+    }
+
+    /**
+     * Kategorinin etkinlik ID'si (bellekte tutulur); kategori yoksa null
+     */
+    public String eventIdOf(Long categoryId) {
+        return eventIds.computeIfAbsent(categoryId,
+                id -> ticketCategoryRepository.findEventIdById(id).orElse(null));
+    }
+
+    /**
+     * Etkinliğin kategorileri değişti (oluşturma, güncelleme, silme, durum geçişi)
+     */
+    public void markEventChanged(String eventId) {
+        afterCommit(() -> version(eventId).incrementAndGet());
+    }
+
+    /**
+     * Uzun süredir okunmayan etkinliklerin görüntülerini bellekten at
+     */
+    @Scheduled(fixedDelayString = "${inventory.snapshot.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - Math.max(maxStalenessMs * 10, 60_000);
+        snapshots.values().removeIf(snapshot -> snapshot.loadedAt() < cutoff);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private AtomicLong version(String eventId) {
+        return versions.computeIfAbsent(eventId, id -> new AtomicLong());
+    }
+
+    /**
+     * Görüntüyü veritabanından oku. Aynı etkinlik için eşzamanlı yüklemeler tek sorguda birleşir.
+     */
+    private Snapshot load(String eventId) {
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        CompletableFuture<Snapshot> inFlight = loading.putIfAbsent(eventId, created);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        try {
+            // Sürüm sorgudan önce okunur; sorgu sırasında commit olan değişiklik bir sonraki okumada yenilenir
+            long version = version(eventId).get();
+            List<CategoryAvailabilityResponse> categories = List.copyOf(
+                    ticketCategoryRepository.findAvailability(eventId, VISIBLE_STATUSES));
+            Snapshot snapshot = new Snapshot(version, System.currentTimeMillis(), categories);
+            snapshots.put(eventId, snapshot);
+            created.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(eventId, created);
+        }
+    }
+
+    private void refreshInBackground(String eventId) {
+        if (loading.containsKey(eventId)) {
+            return;
+        }
+        Thread.startVirtualThread(() -> {
+            try {
+                load(eventId);
+            } catch (RuntimeException e) {
+                log.warn("Etkinlik {} müsaitlik görüntüsü yenilenemedi: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    private record Snapshot(long version, long loadedAt, List<CategoryAvailabilityResponse> categories) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kontrol ve artırma tek koşullu UPDATE'te: ayrı okuma round trip'i yok, satır kilidi UPDATE'ten commit'e kadar tutulur
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalReservationStrategy implements ReservationStrategy {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+
+    @Override
+    public ConcurrencyStrategy type() {
+        return ConcurrencyStrategy.CONDITIONAL;
+    }
+
+    @Override
+    public void reserve(Long categoryId, int quantity) {
+        if (ticketCategoryRepository.reserveIfAvailable(categoryId, quantity) == 0) {
+            throw new InsufficientStockException("Yetersiz stok.");
+        }
+    }
+}
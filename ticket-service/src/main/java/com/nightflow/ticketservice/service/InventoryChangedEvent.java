@@ -0,0 +1,7 @@
+package com.nightflow.ticketservice.service;
+
+/**
+ * Kategorinin stok sayaçları değişti (commit'ten sonra yayınlanır)
+ */
+public record InventoryChangedEvent(Long categoryId) {
+}
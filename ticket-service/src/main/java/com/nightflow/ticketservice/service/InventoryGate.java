@@ -0,0 +1,180 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.TicketCategory;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis stok kapısı (inventory gate).
+ *
+ * Her kategorinin mevcut stoğunu Redis'te tutar ve rezervasyon Postgres
+ * transaction'ı açılmadan önce Lua script ile atomik olarak düşürür. Stok yoksa
+ * istek satır kilidini beklemeden reddedilir. Kesin kontrol yine veritabanındadır;
+ * Redis erişilemezse kapı açık kalır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryGate {
+
+    private static final String KEY_PREFIX = "inventory:category:";
+
+    private static final long MISSING = -2;
+    private static final long INSUFFICIENT = -1;
+
+    /**
+     * KEYS[1] = stok anahtarı, ARGV[1] = adet
+     * -2: anahtar yok, -1: yetersiz stok, aksi halde kalan stok
+     */
+    private static final RedisScript<Long> DECREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local available = redis.call('GET', KEYS[1])
+            if not available then
+                return -2
+            end
+            if tonumber(available) < tonumber(ARGV[1]) then
+                return -1
+            end
+            return redis.call('DECRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    /**
+     * Anahtar varsa artır, yoksa dokunma (bir sonraki istekte veritabanından yüklenir)
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -2
+            end
+            return redis.call('INCRBY', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TicketCategoryRepository ticketCategoryRepository;
+
+    @Value("${inventory.redis-gate.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.redis-gate.key-ttl-minutes:60}")
+    private long keyTtlMinutes;
+
+    /**
+     * Stoğu Redis'te düşürmeyi dene. false dönerse istek reddedilmelidir.
+     */
+    public boolean tryReserve(Long categoryId, int quantity) {
+        if (!enabled) {
+            return true;
+        }
+        try {
+            long result = decrement(categoryId, quantity);
+            if (result == MISSING) {
+                load(categoryId);
+                result = decrement(categoryId, quantity);
+            }
+            return result != INSUFFICIENT;
+        } catch (Exception e) {
+            log.warn("Redis stok kapısı kullanılamıyor, istek veritabanına yönlendiriliyor: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Düşülen stoğu hemen geri ver (rezervasyon transaction'ı başarısız oldu)
+     */
+    public void release(Long categoryId, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(INCREMENT_SCRIPT, List.of(key(categoryId)), String.valueOf(quantity));
+        } catch (Exception e) {
+            log.warn("Kategori ID {} için Redis stoğu artırılamadı, anahtar siliniyor: {}", categoryId, e.getMessage());
+            evict(categoryId);
+        }
+    }
+
+    /**
+     * Transaction commit olduktan sonra stoğu geri ver (iptal, süre aşımı)
+     */
+    public void releaseAfterCommit(Long categoryId, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> release(categoryId, quantity));
+    }
+
+    /**
+     * Transaction commit olduktan sonra stoğu veritabanındaki değere eşitle
+     */
+    public void resyncAfterCommit(Long categoryId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> resync(categoryId));
+    }
+
+    /**
+     * Redis stoğunu veritabanındaki mevcut stoğa eşitle
+     */
+    public void resync(Long categoryId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ticketCategoryRepository.findById(categoryId).ifPresentOrElse(
+                    category -> redisTemplate.opsForValue().set(key(categoryId),
+                            String.valueOf(category.getAvailableQuantity()), Duration.ofMinutes(keyTtlMinutes)),
+                    () -> evict(categoryId));
+        } catch (Exception e) {
+            log.warn("Kategori ID {} için Redis stoğu eşitlenemedi: {}", categoryId, e.getMessage());
+            evict(categoryId);
+        }
+    }
+
+    private long decrement(Long categoryId, int quantity) {
+        Long result = redisTemplate.execute(DECREMENT_SCRIPT, List.of(key(categoryId)), String.valueOf(quantity));
+        return result != null ? result : MISSING;
+    }
+
+    private void load(Long categoryId) {
+        // Kategori yoksa anahtar oluşturulmaz, istek veritabanında 404 alır
+        ticketCategoryRepository.findById(categoryId)
+                .map(TicketCategory::getAvailableQuantity)
+                .ifPresent(available -> redisTemplate.opsForValue().setIfAbsent(
+                        key(categoryId), String.valueOf(available), Duration.ofMinutes(keyTtlMinutes)));
+    }
+
+    private void evict(Long categoryId) {
+        try {
+            redisTemplate.delete(key(categoryId));
+        } catch (Exception e) {
+            log.error("Kategori ID {} için Redis stok anahtarı silinemedi: {}", categoryId, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String key(Long categoryId) {
+        return KEY_PREFIX + categoryId + ":available";
+    }
+}
@@ -0,0 +1,274 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.InventoryLease;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instance başına stok kiralama (inventory leasing).
+ *
+ * Kategori satırından blok halinde stok kiralar ve rezervasyonları bellekteki
+ * kilitsiz sayaçtan karşılar. Kategori satırına her rezervasyonda değil, her
+ * blokta bir kez dokunulur. Kullanılmayan stok kapanışta veya kiralama süresi
+ * dolduğunda iade edilir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLeaseManager {
+
+    private final InventoryLeaseService inventoryLeaseService;
+
+    @Value("${inventory.lease.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.lease.block-size:50}")
+    private int blockSize;
+
+    @Value("${inventory.lease.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Çökme durumunda en fazla bu kadar adet geri alınamaz
+    @Value("${inventory.lease.checkpoint-size:10}")
+    private int checkpointSize;
+
+    @Value("${inventory.lease.orphan-grace-seconds:30}")
+    private long orphanGraceSeconds;
+
+    @Value("${spring.application.name:ticket-service}")
+    private String applicationName;
+
+    private final Map<Long, LocalLease> leases = new ConcurrentHashMap<>();
+    private final Map<Long, Object> refillLocks = new ConcurrentHashMap<>();
+    private final String ownerId = UUID.randomUUID().toString();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rezervasyonu kiralanmış stoktan karşılamayı dene.
+     * false dönerse çağıran kilitli (findByIdWithLock) yola düşmelidir.
+     */
+    public boolean tryAcquire(Long categoryId, int quantity) {
+        if (!enabled || quantity > blockSize) {
+            return false;
+        }
+
+        LocalLease lease = leases.get(categoryId);
+        if (lease != null && take(lease, quantity)) {
+            return true;
+        }
+
+        synchronized (refillLocks.computeIfAbsent(categoryId, id -> new Object())) {
+            lease = leases.get(categoryId);
+            if (lease != null && take(lease, quantity)) {
+                return true;
+            }
+            if (lease != null) {
+                leases.remove(categoryId, lease);
+                retire(lease);
+            }
+
+            LocalLease refilled = lease(categoryId);
+            if (refilled == null) {
+                return false;
+            }
+            leases.put(categoryId, refilled);
+            return take(refilled, quantity);
+        }
+    }
+
+    /**
+     * Süresi dolan kiralamaları iade et, çökmüş instance'ların kiralamalarını geri al
+     */
+    @Scheduled(fixedDelayString = "${inventory.lease.maintenance-interval-ms:5000}")
+    public void maintainLeases() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        leases.values().stream()
+                .filter(lease -> lease.isExpired(now))
+                .forEach(lease -> {
+                    if (leases.remove(lease.categoryId, lease)) {
+                        retire(lease);
+                    }
+                });
+
+        try {
+            inventoryLeaseService.reclaimOrphaned(now.minusSeconds(orphanGraceSeconds));
+        } catch (Exception e) {
+            log.error("Sahipsiz kiralamalar geri alınırken hata: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        if (leases.isEmpty()) {
+            return;
+        }
+        log.info("{} adet stok kiralaması iade ediliyor...", leases.size());
+        leases.values().forEach(this::retire);
+        leases.clear();
+    }
+
+    private LocalLease lease(Long categoryId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        int reclaimable = Math.max(0, blockSize - checkpointSize);
+        try {
+            Optional<InventoryLease> granted = inventoryLeaseService.acquire(
+                    categoryId, blockSize, reclaimable, applicationName + ":" + ownerId, expiresAt);
+            return granted
+                    .map(l -> new LocalLease(l.getId(), categoryId, blockSize, reclaimable, expiresAt))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.error("Kategori ID {} için stok kiralanamadı: {}", categoryId, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean take(LocalLease lease, int quantity) {
+        if (lease.isExpired(LocalDateTime.now())) {
+            return false;
+        }
+        int remaining = lease.take(quantity);
+        if (remaining < 0) {
+            return false;
+        }
+
+        if (remaining < lease.reclaimable && !checkpoint(lease, remaining)) {
+            giveBack(lease, quantity);
+            return false;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        giveBack(lease, quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Dağıtmadan önce geri alınabilir adedi veritabanında düşür
+     */
+    private boolean checkpoint(LocalLease lease, int remaining) {
+        synchronized (lease) {
+            if (remaining >= lease.reclaimable) {
+                return true;
+            }
+            int floor = Math.max(0, remaining - checkpointSize);
+            try {
+                inventoryLeaseService.lowerReclaimable(lease.id, floor);
+                lease.reclaimable = floor;
+                return true;
+            } catch (Exception e) {
+                log.error("Kiralama {} için checkpoint yazılamadı: {}", lease.id, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private void giveBack(LocalLease lease, int quantity) {
+        if (lease.giveBack(quantity)) {
+            return;
+        }
+        // Kiralama bu arada kapandı, adetleri doğrudan kategoriye iade et
+        try {
+            inventoryLeaseService.returnSeats(lease.categoryId, quantity);
+        } catch (Exception e) {
+            log.error("Kategori ID {} için {} adet iade edilemedi: {}", lease.categoryId, quantity, e.getMessage());
+        }
+    }
+
+    private void retire(LocalLease lease) {
+        int unused = lease.close();
+        if (unused < 0) {
+            return;
+        }
+        try {
+            if (!inventoryLeaseService.release(lease.id, lease.categoryId, unused)) {
+                log.warn("Kiralama {} başka bir instance tarafından geri alınmış", lease.id);
+            }
+        } catch (Exception e) {
+            log.error("Kiralama {} iade edilemedi: {}", lease.id, e.getMessage());
+        }
+    }
+
+    private static final class LocalLease {
+
+        private static final int CLOSED = -1;
+
+        private final Long id;
+        private final Long categoryId;
+        private final LocalDateTime expiresAt;
+        private final AtomicInteger remaining;
+        private volatile int reclaimable;
+
+        private LocalLease(Long id, Long categoryId, int granted, int reclaimable, LocalDateTime expiresAt) {
+            this.id = id;
+            this.categoryId = categoryId;
+            this.remaining = new AtomicInteger(granted);
+            this.reclaimable = reclaimable;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(LocalDateTime now) {
+            return now.isAfter(expiresAt);
+        }
+
+        /**
+         * Kalan adedi döndürür, yetersizse veya kapalıysa -1
+         */
+        private int take(int quantity) {
+            while (true) {
+                int current = remaining.get();
+                if (current < quantity) {
+                    return CLOSED;
+                }
+                if (remaining.compareAndSet(current, current - quantity)) {
+                    return current - quantity;
+                }
+            }
+        }
+
+        private boolean giveBack(int quantity) {
+            while (true) {
+                int current = remaining.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current + quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Kiralamayı kapat ve kullanılmayan adedi döndür
+         */
+        private int close() {
+            return remaining.getAndSet(CLOSED);
+        }
+    }
+}
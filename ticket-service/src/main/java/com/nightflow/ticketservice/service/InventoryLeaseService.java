@@ -0,0 +1,112 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.InventoryLease;
+import com.nightflow.ticketservice.repository.InventoryLeaseRepository;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stok kiralamalarının veritabanı işlemleri.
+ * Her işlem kendi kısa transaction'ında çalışır; böylece kategori satırı
+ * rezervasyon transaction'ı boyunca kilitli kalmaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLeaseService {
+
+    private final InventoryLeaseRepository inventoryLeaseRepository;
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final AvailabilityCache availabilityCache;
+    private final SoldOutTracker soldOutTracker;
+
+    /**
+     * Kategoriden blok kirala. Stok yetersizse boş döner.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<InventoryLease> acquire(Long categoryId, int quantity, int reclaimableQuantity,
+                                            String ownerId, LocalDateTime expiresAt) {
+        if (ticketCategoryRepository.reserveIfAvailable(categoryId, quantity) == 0) {
+            return Optional.empty();
+        }
+        availabilityCache.markChanged(categoryId);
+
+        InventoryLease lease = InventoryLease.builder()
+                .categoryId(categoryId)
+                .ownerId(ownerId)
+                .grantedQuantity(quantity)
+                .reclaimableQuantity(reclaimableQuantity)
+                .expiresAt(expiresAt)
+                .build();
+
+        return Optional.of(inventoryLeaseRepository.save(lease));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void lowerReclaimable(Long leaseId, int quantity) {
+        inventoryLeaseRepository.lowerReclaimable(leaseId, quantity);
+    }
+
+    /**
+     * Kiralamayı kapat ve kullanılmayan adedi kategoriye iade et.
+     * Kiralama başka bir instance tarafından geri alınmışsa false döner.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(Long leaseId, Long categoryId, int unusedQuantity) {
+        if (inventoryLeaseRepository.deleteLease(leaseId) == 0) {
+            return false;
+        }
+        returnToCategory(categoryId, unusedQuantity);
+        return true;
+    }
+
+    /**
+     * Kapanmış bir kiralamadan geri dönen (rollback olmuş) adetleri iade et
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void returnSeats(Long categoryId, int quantity) {
+        returnToCategory(categoryId, quantity);
+    }
+
+    /**
+     * Sahibi çökmüş instance'ların kiralamalarını geri al.
+     * Sadece reclaimableQuantity kadar iade edilir; bu değer gerçek kalandan
+     * büyük olamayacağı için overselling oluşmaz.
+     */
+    @Transactional
+    public int reclaimOrphaned(LocalDateTime expiredBefore) {
+        List<InventoryLease> orphaned = inventoryLeaseRepository.findOrphaned(expiredBefore);
+        int reclaimed = 0;
+
+        for (InventoryLease lease : orphaned) {
+            if (inventoryLeaseRepository.deleteLease(lease.getId()) == 0) {
+                continue;
+            }
+            returnToCategory(lease.getCategoryId(), lease.getReclaimableQuantity());
+            reclaimed++;
+            log.warn("Sahipsiz kiralama geri alındı: lease={}, owner={}, kategori={}, iade={}",
+                    lease.getId(), lease.getOwnerId(), lease.getCategoryId(), lease.getReclaimableQuantity());
+        }
+        return reclaimed;
+    }
+
+    private void returnToCategory(Long categoryId, int quantity) {
+        // Adet sıfır olsa da kiralama kapandı; tükendi kontrolü açık kiralamalara bakar
+        availabilityCache.markChanged(categoryId);
+        if (quantity <= 0) {
+            return;
+        }
+        if (ticketCategoryRepository.decrementReserved(categoryId, quantity) == 0) {
+            log.warn("Kategori ID {} için kiralama iadesinde reserved stok tutarsızlığı tespit edildi!", categoryId);
+        }
+        soldOutTracker.releasedAfterCommit(categoryId);
+    }
+}
@@ -0,0 +1,176 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.InventoryLedgerEntry;
+import com.nightflow.ticketservice.entity.LedgerEntryType;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.repository.InventoryLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+
+/**
+ * Olay kaynaklı stok defteri (inventory ledger).
+ *
+ * Sayaç modundaki kategorilerde rezervasyon, satış onayı, iptal ve süre aşımı kategori
+ * satırını güncellemek yerine inventory_ledger'a delta satırı ekler; sıcak yolda kategori
+ * satırı hiç güncellenmez. Kategori sayaçları son sıkıştırmaya kadarki görüntüdür, mevcut
+ * stok = sayaçlar + katlanmamış deltalar. Sıkıştırıcı bekleyen deltaları kategori başına
+ * tek statement'ta sayaçlara katlar; müsaitlik, tükenme ve stok kapısı sayaçları en geç
+ * compaction-interval-ms gecikmeyle görür. Katlanan kayıtlar retention-days boyunca
+ * denetim için saklanır.
+ *
+ * Ekleme tek başına stok sınırını koruyamaz: aynı anda gelen iki rezervasyon aynı son
+ * bileti görür. Bu yüzden sadece RESERVE kategori başına advisory lock ile sıralanır;
+ * onay, iptal ve süre aşımı kilitsiz ekleme yapar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedger {
+
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+    private final AvailabilityCache availabilityCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.ledger.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${inventory.ledger.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stok yeterliyse RESERVE kaydı ekle (çağıranın transaction'ında).
+     * Defter kapalıysa false döner, çağıran sayaç yoluna düşmelidir.
+     */
+    public boolean tryReserve(Long categoryId, int quantity, String sessionId) {
+        if (!enabled) {
+            return false;
+        }
+        inventoryLedgerRepository.lockCategory(categoryId);
+        if (inventoryLedgerRepository.reserveIfAvailable(categoryId, quantity, sessionId) == 0) {
+            throw new InsufficientStockException("Yetersiz stok.");
+        }
+        availabilityCache.markChanged(categoryId);
+        return true;
+    }
+
+    public void confirm(Long categoryId, int quantity, String sessionId, Long orderId) {
+        append(InventoryLedgerEntry.builder()
+                .categoryId(categoryId)
+                .entryType(LedgerEntryType.CONFIRM)
+                .reservedDelta(-quantity)
+                .soldDelta(quantity)
+                .sessionId(sessionId)
+                .orderId(orderId)
+                .build());
+    }
+
+    public void cancel(Long categoryId, int quantity, String sessionId) {
+        append(InventoryLedgerEntry.builder()
+                .categoryId(categoryId)
+                .entryType(LedgerEntryType.CANCEL)
+                .reservedDelta(-quantity)
+                .soldDelta(0)
+                .sessionId(sessionId)
+                .build());
+    }
+
+    public void expire(Long categoryId, int quantity) {
+        append(InventoryLedgerEntry.builder()
+                .categoryId(categoryId)
+                .entryType(LedgerEntryType.EXPIRE)
+                .reservedDelta(-quantity)
+                .soldDelta(0)
+                .build());
+    }
+
+    /**
+     * Toplam miktar değişikliği sayaca doğrudan yazılır; defterde sadece kaydı tutulur
+     */
+    public void adjust(Long categoryId, int totalDelta) {
+        if (!enabled || totalDelta == 0) {
+            return;
+        }
+        append(InventoryLedgerEntry.builder()
+                .categoryId(categoryId)
+                .entryType(LedgerEntryType.ADJUST)
+                .reservedDelta(0)
+                .soldDelta(0)
+                .totalDelta(totalDelta)
+                .build());
+    }
+
+    /**
+     * Defter açıksa kategoriyi rezervasyonlara kilitler (transaction sonuna kadar) ve
+     * bekleyen deltalar dahil satılan + rezerve miktarı döner. Toplam miktar azaltılırken kullanılır.
+     */
+    public OptionalLong lockAndCountTaken(Long categoryId) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        inventoryLedgerRepository.lockCategory(categoryId);
+        return inventoryLedgerRepository.countTaken(categoryId)
+                .map(OptionalLong::of)
+                .orElseGet(OptionalLong::empty);
+    }
+
+    /**
+     * Bekleyen deltaları kategori sayaçlarına katla. Defter kapatılmış olsa da çalışır,
+     * kalan kayıtlar sayaçlara mutlaka yansır. Her kategori ayrı transaction'da; tek
+     * kategori satırı kilitlendiği için rezervasyonlarla kilit sırası çakışmaz.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.compaction-interval-ms:1000}")
+    public void compact() {
+        for (Long categoryId : inventoryLedgerRepository.findCategoriesWithPendingEntries()) {
+            try {
+                Integer folded = transactionTemplate.execute(status -> {
+                    int entries = inventoryLedgerRepository.compact(categoryId);
+                    if (entries > 0) {
+                        availabilityCache.markChanged(categoryId);
+                    }
+                    return entries;
+                });
+                log.debug("Kategori ID {}: {} defter kaydı sayaçlara katlandı", categoryId, folded);
+            } catch (RuntimeException e) {
+                // Bir sonraki sıkıştırmada tekrar denenir
+                log.warn("Kategori ID {} defteri sıkıştırılamadı: {}", categoryId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Saklama süresi dolan katlanmış kayıtları gruplar halinde sil
+     */
+    @Scheduled(cron = "${inventory.ledger.purge-cron:0 0 5 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    inventoryLedgerRepository.purgeCompacted(before, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("{} eski defter kaydı silindi (ölçüt: {} öncesi)", total, before);
+        }
+    }
+
+    private void append(InventoryLedgerEntry entry) {
+        inventoryLedgerRepository.save(entry);
+    }
+}
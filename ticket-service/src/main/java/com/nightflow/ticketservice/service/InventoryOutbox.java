@@ -0,0 +1,196 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.entity.InventoryEventType;
+import com.nightflow.ticketservice.entity.InventoryOutboxEvent;
+import com.nightflow.ticketservice.entity.ReservationHold;
+import com.nightflow.ticketservice.event.InventoryEvent;
+import com.nightflow.ticketservice.repository.InventoryOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stok ve bilet durumu olayları için transactional outbox.
+ *
+ * Rezervasyon, satış, iade (iptal / süre aşımı), check-in ve tükenme geçişleri
+ * değişiklikle aynı transaction'da inventory_outbox'a eklenir; rollback olan
+ * değişikliğin olayı da yoktur. Relay gönderilmemiş kayıtları id sırasıyla
+ * gruplar halinde inventory-events topic'ine gönderir (anahtar: eventId) ve
+ * gönderildi olarak işaretler. Gönderim en az bir kezdir: Kafka onayından sonra
+ * işaretleme başarısız olursa grup tekrar gönderilir, tüketiciler mesaj id'si
+ * ile ayıklar.
+ *
+ * Relay advisory lock ile tek instance'ta çalışır. ID'ler sequence'tan alındığı
+ * için commit sırasıyla birebir aynı değildir: aynı anda commit olan iki
+ * transaction'ın olayları birbirine göre ters sırada yayınlanabilir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryOutbox {
+
+    private final InventoryOutboxRepository inventoryOutboxRepository;
+    private final AvailabilityCache availabilityCache;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.outbox.topic:inventory-events}")
+    private String topic;
+
+    @Value("${inventory.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${inventory.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${inventory.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${inventory.outbox.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    public void reserved(ReservationHold hold) {
+        append(InventoryEventType.TICKETS_RESERVED, hold.getCategoryId(), hold.getQuantity(),
+                hold.getSessionId(), null, null);
+    }
+
+    public void sold(Long categoryId, int quantity, String sessionId, Long orderId) {
+        append(InventoryEventType.TICKETS_SOLD, categoryId, quantity, sessionId, orderId, null);
+    }
+
+    /**
+     * İptal (sessionId dolu) veya süre aşımı
+     */
+    public void released(Long categoryId, int quantity, String sessionId) {
+        append(InventoryEventType.TICKETS_RELEASED, categoryId, quantity, sessionId, null, null);
+    }
+
+    public void checkedIn(Long categoryId, String ticketCode) {
+        append(InventoryEventType.TICKET_CHECKED_IN, categoryId, null, null, null, ticketCode);
+    }
+
+    /**
+     * Tükenme geçişi; etkinlik ID'si geçişi yapan sorgudan gelir
+     */
+    public void statusChanged(Long categoryId, String eventId, CategoryStatus status) {
+        if (!enabled) {
+            return;
+        }
+        inventoryOutboxRepository.save(InventoryOutboxEvent.builder()
+                .eventType(status == CategoryStatus.SOLD_OUT
+                        ? InventoryEventType.CATEGORY_SOLD_OUT
+                        : InventoryEventType.CATEGORY_AVAILABLE)
+                .eventId(eventId)
+                .categoryId(categoryId)
+                .build());
+    }
+
+    /**
+     * Gönderilmemiş kayıtları grup grup yayınla. Outbox kapatılmış olsa da çalışır,
+     * kalan kayıtlar mutlaka gönderilir.
+     */
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (RuntimeException e) {
+            // Bir sonraki çalışmada aynı kayıtlardan devam edilir
+            log.warn("Stok olayları Kafka'ya gönderilemedi: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Saklama süresi dolan gönderilmiş kayıtları gruplar halinde sil
+     */
+    @Scheduled(cron = "${inventory.outbox.purge-cron:0 15 5 * * *}")
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    inventoryOutboxRepository.purgePublished(before, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("{} eski outbox kaydı silindi (ölçüt: {} öncesi)", total, before);
+        }
+    }
+
+    private int relayBatch() {
+        if (!inventoryOutboxRepository.tryLockRelay()) {
+            // Başka bir instance gönderiyor
+            return 0;
+        }
+        List<InventoryOutboxEvent> batch = inventoryOutboxRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] sends = batch.stream()
+                .map(event -> kafkaTemplate.send(topic, event.getEventId(), toMessage(event)))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox gönderimi kesildi", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Kafka onayı alınamadı: " + e.getMessage(), e);
+        }
+
+        inventoryOutboxRepository.markPublished(
+                batch.stream().map(InventoryOutboxEvent::getId).toList(), LocalDateTime.now());
+        log.debug("{} stok olayı {} topic'ine gönderildi", batch.size(), topic);
+        return batch.size();
+    }
+
+    private void append(InventoryEventType type, Long categoryId, Integer quantity,
+                        String sessionId, Long orderId, String ticketCode) {
+        if (!enabled) {
+            return;
+        }
+        inventoryOutboxRepository.save(InventoryOutboxEvent.builder()
+                .eventType(type)
+                .eventId(availabilityCache.eventIdOf(categoryId))
+                .categoryId(categoryId)
+                .quantity(quantity)
+                .sessionId(sessionId)
+                .orderId(orderId)
+                .ticketCode(ticketCode)
+                .build());
+    }
+
+    private static InventoryEvent toMessage(InventoryOutboxEvent event) {
+        return new InventoryEvent(
+                event.getId(),
+                event.getEventType().name(),
+                event.getEventId(),
+                event.getCategoryId(),
+                event.getQuantity(),
+                event.getSessionId(),
+                event.getOrderId(),
+                event.getTicketCode(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,70 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.exception.ReservationConflictException;
+import com.nightflow.ticketservice.exception.ResourceNotFoundException;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stok ve sürüm kilitsiz okunur, yazma sadece sürüm değişmediyse yapılır (@Version).
+ * Çakışmada üstel artan, tam rastgele (full jitter) beklemeyle tekrar denenir; READ COMMITTED
+ * altında her deneme son commit'i okur. max-attempts denemede yazılamazsa ReservationConflictException.
+ * Bekleme çağıranın transaction'ı içinde olur, bağlantı bu sürede havuza dönmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticReservationStrategy implements ReservationStrategy {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+
+    @Value("${inventory.concurrency.optimistic.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${inventory.concurrency.optimistic.backoff-base-ms:2}")
+    private long backoffBaseMs;
+
+    @Value("${inventory.concurrency.optimistic.backoff-max-ms:50}")
+    private long backoffMaxMs;
+
+    @Override
+    public ConcurrencyStrategy type() {
+        return ConcurrencyStrategy.OPTIMISTIC;
+    }
+
+    @Override
+    public void reserve(Long categoryId, int quantity) {
+        for (int attempt = 1; ; attempt++) {
+            TicketCategoryRepository.CategoryStock stock = ticketCategoryRepository.findStockById(categoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+            if (stock.getAvailable() < quantity) {
+                throw new InsufficientStockException("Yetersiz stok. Mevcut: " + stock.getAvailable());
+            }
+            if (ticketCategoryRepository.reserveIfVersion(categoryId, quantity, stock.getVersion()) == 1) {
+                return;
+            }
+            if (attempt == maxAttempts) {
+                log.warn("Kategori ID {}: {} denemede iyimser rezervasyon yazılamadı", categoryId, attempt);
+                throw new ReservationConflictException("Kategori yoğun, lütfen tekrar deneyin.");
+            }
+            backoff(attempt);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attempt, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReservationConflictException("Rezervasyon kesildi.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.exception.ResourceNotFoundException;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kategori satırı transaction sonuna kadar kilitlenir, stok kilit altında okunup kontrol edilir;
+ * aynı kategorideki rezervasyonlar sıraya girer
+ */
+@Component
+@RequiredArgsConstructor
+public class PessimisticReservationStrategy implements ReservationStrategy {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+
+    @Override
+    public ConcurrencyStrategy type() {
+        return ConcurrencyStrategy.PESSIMISTIC;
+    }
+
+    @Override
+    public void reserve(Long categoryId, int quantity) {
+        TicketCategoryRepository.CategoryStock stock = ticketCategoryRepository.lockStockById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+
+        if (stock.getAvailable() < quantity) {
+            throw new InsufficientStockException("Yetersiz stok. Mevcut: " + stock.getAvailable());
+        }
+        ticketCategoryRepository.incrementReserved(categoryId, quantity);
+    }
+}
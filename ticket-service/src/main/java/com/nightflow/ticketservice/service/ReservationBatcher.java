@@ -0,0 +1,361 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.dto.ReservationRequest;
+import com.nightflow.ticketservice.dto.ReservationResponse;
+import com.nightflow.ticketservice.entity.ReservationHold;
+import com.nightflow.ticketservice.entity.TicketCategory;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.exception.ResourceNotFoundException;
+import com.nightflow.ticketservice.repository.ReservationHoldRepository;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Yoğun kategoriler için toplu rezervasyon (group commit).
+ *
+ * Saniyedeki istek sayısı eşiği aşan kategorilerin rezervasyonları kategori
+ * başına tek yazıcılı bir kuyruğa alınır. Boş kuyruğa ilk istek geldiğinde
+ * interval-ms sonra tek bir boşaltma planlanır; kuyrukta istek kaldıkça boşaltma
+ * yeniden kurulur, kuyruk boşalınca durur. Bekleyen istekler tek transaction'da
+ * işlenir: kategori satırı bir kez kilitlenir, stok bir kez düşülür, rezervasyonlar
+ * toplu eklenir. Uzun süre boş kalan kuyruklar ve istek sayaçları bellekten atılır.
+ *
+ * Zaman aşımında istek ya toplu işleme alınmadan iptal edilir ya da alınmışsa
+ * çağıran sonucu bekler; işlenmiş rezervasyon çağırana hata olarak dönmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationBatcher {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final ReservationHoldRepository reservationHoldRepository;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCache availabilityCache;
+    private final InventoryOutbox inventoryOutbox;
+
+    @Value("${inventory.batching.enabled:false}")
+    private boolean enabled;
+
+    // Kategori bu sayının üzerinde istek/saniye alırsa toplu işlenir
+    @Value("${inventory.batching.hot-threshold-per-second:50}")
+    private int hotThresholdPerSecond;
+
+    @Value("${inventory.batching.interval-ms:5}")
+    private long intervalMs;
+
+    @Value("${inventory.batching.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${inventory.batching.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${inventory.batching.writer-threads:2}")
+    private int writerThreads;
+
+    // Bu süre boyunca istek almayan kategorinin kuyruğu ve sayacı atılır
+    @Value("${inventory.batching.idle-eviction-ms:60000}")
+    private long idleEvictionMs;
+
+    private final Map<Long, RateWindow> rates = new ConcurrentHashMap<>();
+    private final Map<Long, CategoryQueue> queues = new ConcurrentHashMap<>();
+    private ScheduledExecutorService writers;
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            writers = Executors.newScheduledThreadPool(writerThreads);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writers == null) {
+            return;
+        }
+        writers.shutdown();
+        queues.values().forEach(queue -> {
+            PendingReservation pending;
+            while ((pending = queue.pending.poll()) != null) {
+                if (pending.claim()) {
+                    pending.future.completeExceptionally(new IllegalStateException("Servis kapanıyor"));
+                }
+            }
+        });
+    }
+
+    /**
+     * İsteği say ve kategorinin yoğun olup olmadığını döndür
+     */
+    public boolean isHot(Long categoryId) {
+        if (!enabled) {
+            return false;
+        }
+        return rates.computeIfAbsent(categoryId, id -> new RateWindow()).record() > hotThresholdPerSecond;
+    }
+
+    /**
+     * Rezervasyonu kuyruğa ekle ve toplu işlem sonucunu bekle
+     */
+    public ReservationResponse reserve(ReservationRequest request) {
+        PendingReservation pending = new PendingReservation(request);
+        enqueue(request.getCategoryId(), pending);
+
+        try {
+            return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.cancel()) {
+                throw new IllegalStateException("Rezervasyon zaman aşımına uğradı");
+            }
+            // Toplu işleme alınmış; sonucu beklenir, aksi halde commit olan rezervasyon sahipsiz kalır
+            return awaitClaimed(pending);
+        } catch (InterruptedException e) {
+            if (pending.cancel()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Rezervasyon kesintiye uğradı");
+            }
+            ReservationResponse response = awaitClaimed(pending);
+            Thread.currentThread().interrupt();
+            return response;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Uzun süredir istek almayan kategorilerin sayaçlarını ve boş kuyruklarını at
+     */
+    @Scheduled(fixedDelayString = "${inventory.batching.idle-eviction-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        rates.values().removeIf(rate -> now - rate.lastSeenAt() > idleEvictionMs);
+        // enqueue ile aynı anahtar kilidi altında: kuyruğa eklenirken atılamaz
+        queues.keySet().forEach(categoryId -> queues.computeIfPresent(categoryId, (id, queue) ->
+                queue.isIdle(now, idleEvictionMs) ? null : queue));
+    }
+
+    private void enqueue(Long categoryId, PendingReservation pending) {
+        queues.compute(categoryId, (id, queue) -> {
+            CategoryQueue target = queue != null ? queue : new CategoryQueue(id);
+            target.add(pending);
+            return target;
+        });
+    }
+
+    private ReservationResponse awaitClaimed(PendingReservation pending) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void drain(CategoryQueue queue) {
+        List<PendingReservation> batch = new ArrayList<>();
+        PendingReservation pending;
+        while (batch.size() < maxBatchSize && (pending = queue.pending.poll()) != null) {
+            // Zaman aşımıyla iptal edilmiş istekler atlanır
+            if (pending.claim()) {
+                batch.add(pending);
+            }
+        }
+
+        try {
+            if (!batch.isEmpty()) {
+                List<Runnable> completions = transactionTemplate.execute(status -> apply(queue.categoryId, batch));
+                completions.forEach(Runnable::run);
+            }
+        } catch (RuntimeException e) {
+            log.error("Kategori ID {} için {} rezervasyonluk toplu işlem başarısız: {}", queue.categoryId, batch.size(), e.getMessage());
+            batch.forEach(p -> p.future.completeExceptionally(e));
+        } finally {
+            queue.afterDrain();
+        }
+    }
+
+    /**
+     * Toplu işlemi uygula. Sonuçlar commit'ten sonra çağıranlara iletilir.
+     */
+    private List<Runnable> apply(Long categoryId, List<PendingReservation> batch) {
+        TicketCategory category = ticketCategoryRepository.findByIdWithLock(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+
+        int available = category.getAvailableQuantity();
+        List<PendingReservation> accepted = new ArrayList<>();
+        List<Runnable> completions = new ArrayList<>();
+
+        for (PendingReservation pending : batch) {
+            int quantity = pending.request.getQuantity();
+            if (quantity <= available) {
+                available -= quantity;
+                accepted.add(pending);
+            } else {
+                InsufficientStockException error = new InsufficientStockException("Yetersiz stok. Mevcut: " + available);
+                completions.add(() -> pending.future.completeExceptionally(error));
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return completions;
+        }
+
+        int reservedTotal = accepted.stream().mapToInt(p -> p.request.getQuantity()).sum();
+        category.setReservedQuantity(category.getReservedQuantity() + reservedTotal);
+        category.setUpdatedAt(LocalDateTime.now());
+        ticketCategoryRepository.save(category);
+        availabilityCache.markChanged(categoryId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationHold> holds = reservationHoldRepository.saveAll(accepted.stream()
+                .map(p -> ReservationHold.builder()
+                        .categoryId(categoryId)
+                        .sessionId(p.request.getSessionId())
+                        .quantity(p.request.getQuantity())
+                        .createdAt(now)
+                        .expiresAt(now.plus(TicketService.RESERVATION_TTL))
+                        .build())
+                .toList());
+        holds.forEach(reservationExpiryScheduler::schedule);
+        holds.forEach(inventoryOutbox::reserved);
+
+        log.debug("Kategori ID {}: {} istekten {} tanesi tek transaction'da rezerve edildi", categoryId, batch.size(), accepted.size());
+
+        for (int i = 0; i < accepted.size(); i++) {
+            CompletableFuture<ReservationResponse> future = accepted.get(i).future;
+            ReservationResponse response = TicketService.toReservationResponse(holds.get(i));
+            completions.add(() -> future.complete(response));
+        }
+        return completions;
+    }
+
+    /**
+     * Kategori kuyruğu. Aynı anda en fazla bir boşaltma kuruludur (tek yazıcı);
+     * boşaltma kuyruk boş değilse kendini yeniden kurar.
+     */
+    private final class CategoryQueue {
+
+        private final Long categoryId;
+        private final Queue<PendingReservation> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private volatile long lastActiveAt = System.currentTimeMillis();
+
+        private CategoryQueue(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+
+        private void add(PendingReservation reservation) {
+            pending.add(reservation);
+            lastActiveAt = System.currentTimeMillis();
+            arm(intervalMs);
+        }
+
+        private void afterDrain() {
+            armed.set(false);
+            // Boşaltma sırasında eklenen istek kuyruğu kuramamış olabilir
+            if (!pending.isEmpty()) {
+                arm(intervalMs);
+            }
+        }
+
+        private void arm(long delayMs) {
+            if (armed.compareAndSet(false, true)) {
+                writers.schedule(() -> drain(this), delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private boolean isIdle(long now, long idleMs) {
+            return pending.isEmpty() && !armed.get() && now - lastActiveAt > idleMs;
+        }
+    }
+
+    /**
+     * Kuyruktaki istek. Toplu işlem (claim) ile zaman aşımı (cancel) arasında tek kazanan olur.
+     */
+    private static final class PendingReservation {
+
+        private static final int PENDING = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        private final ReservationRequest request;
+        private final CompletableFuture<ReservationResponse> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private PendingReservation(ReservationRequest request) {
+            this.request = request;
+        }
+
+        private boolean claim() {
+            return state.compareAndSet(PENDING, CLAIMED);
+        }
+
+        private boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+    }
+
+    /**
+     * Saniyelik istek sayacı
+     */
+    private static final class RateWindow {
+
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        private long lastSeenAt() {
+            return second.get() * 1000;
+        }
+
+        private int record() {
+            long now = System.currentTimeMillis() / 1000;
+            long current = second.get();
+            if (current != now && second.compareAndSet(current, now)) {
+                count.set(0);
+            }
+            return count.incrementAndGet();
+        }
+    }
+}
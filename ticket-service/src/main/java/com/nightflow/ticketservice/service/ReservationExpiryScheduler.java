@@ -0,0 +1,190 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ReservationHold;
+import com.nightflow.ticketservice.repository.ReservationHoldRepository;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rezervasyon süre aşımı zamanlayıcısı.
+ *
+ * Her rezervasyon bitiş zamanıyla bir DelayQueue'ya eklenir; tek bir thread
+ * süresi dolanları tam zamanında alır ve küçük, sınırlı gruplar halinde serbest
+ * bırakır. Başlangıçta kuyruk veritabanından yeniden kurulur. Başka bir
+ * instance'ın oluşturup çöktüğü rezervasyonlar seyrek çalışan bir tarama ile
+ * temizlenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpiryScheduler {
+
+    private final ReservationHoldRepository reservationHoldRepository;
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final InventoryLedger inventoryLedger;
+    private final InventoryOutbox inventoryOutbox;
+    private final InventoryGate inventoryGate;
+    private final TicketPoolService ticketPoolService;
+    private final SeatMapService seatMapService;
+    private final AvailabilityCache availabilityCache;
+    private final SoldOutTracker soldOutTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.expiry.batch-size:100}")
+    private int batchSize;
+
+    @Value("${inventory.expiry.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    // Tarama sadece bu süreden daha önce dolmuş rezervasyonlara bakar (zamanlayıcıya öncelik)
+    @Value("${inventory.expiry.sweep-grace-seconds:30}")
+    private long sweepGraceSeconds;
+
+    private final DelayQueue<ExpiringHold> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    /**
+     * Rezervasyonu bitiş zamanında serbest bırakılmak üzere kuyruğa ekle.
+     * Transaction içindeyse commit'ten sonra eklenir; geri alınan rezervasyon kuyruğa girmez.
+     */
+    public void schedule(ReservationHold hold) {
+        ExpiringHold expiring = new ExpiringHold(hold.getId(), hold.getExpiresAt());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            queue.add(expiring);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                queue.add(expiring);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<ReservationHoldRepository.HoldDeadline> deadlines = reservationHoldRepository.findAllDeadlines();
+        deadlines.forEach(d -> queue.add(new ExpiringHold(d.getId(), d.getExpiresAt())));
+        log.info("Süre aşımı zamanlayıcısı {} rezervasyon ile başlatıldı", deadlines.size());
+
+        worker = Thread.ofPlatform()
+                .name("reservation-expiry")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Yedek tarama: bu instance'ın kuyruğunda olmayan süresi dolmuş rezervasyonlar
+     */
+    @Scheduled(fixedDelayString = "${inventory.expiry.sweep-interval-ms:300000}")
+    public void releaseExpiredReservations() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(sweepGraceSeconds);
+        List<Long> ids;
+        do {
+            ids = reservationHoldRepository.findExpiredIds(before, PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                log.info("Tarama: {} adet süresi dolmuş rezervasyon temizleniyor...", ids.size());
+                release(ids);
+            }
+        } while (ids.size() == batchSize);
+    }
+
+    private void run() {
+        while (worker != null) {
+            try {
+                List<ExpiringHold> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                releaseBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void releaseBatch(List<ExpiringHold> batch) {
+        try {
+            release(batch.stream().map(ExpiringHold::holdId).toList());
+        } catch (Exception e) {
+            log.error("{} rezervasyon serbest bırakılamadı, tekrar denenecek: {}", batch.size(), e.getMessage());
+            LocalDateTime retryAt = LocalDateTime.now().plus(Duration.ofMillis(retryDelayMs));
+            batch.forEach(h -> queue.add(new ExpiringHold(h.holdId(), retryAt)));
+        }
+    }
+
+    /**
+     * Rezervasyonları tek statement'ta sil, stokları kategori başına tek güncelleme ile iade et.
+     * Havuz modundaki biletler tekrar AVAILABLE olur; sayaçları TicketPoolService günceller.
+     * Numaralı oturmada koltuklar haritada serbest bırakılır.
+     */
+    private void release(Collection<Long> holdIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ReservationHold> released = reservationHoldRepository.deleteExpired(holdIds, LocalDateTime.now());
+            if (released.isEmpty()) {
+                return;
+            }
+            seatMapService.release(TicketService.seatsByCategory(released));
+            Map<Long, Integer> pooled = ticketPoolService.revert(TicketService.holdIds(released));
+
+            TicketService.sumByCategory(released).forEach((categoryId, quantity) -> {
+                int counted = quantity - pooled.getOrDefault(categoryId, 0);
+                if (counted > 0 && inventoryLedger.isEnabled()) {
+                    inventoryLedger.expire(categoryId, counted);
+                } else if (counted > 0 && ticketCategoryRepository.decrementReserved(categoryId, counted) == 0) {
+                    log.warn("Kategori ID {} için reserved stok tutarsızlığı tespit edildi!", categoryId);
+                }
+                inventoryGate.releaseAfterCommit(categoryId, quantity);
+                availabilityCache.markChanged(categoryId);
+                soldOutTracker.releasedAfterCommit(categoryId);
+                inventoryOutbox.released(categoryId, quantity, null);
+                log.debug("Kategori ID {}: {} adet süresi dolan rezervasyon serbest bırakıldı", categoryId, quantity);
+            });
+        });
+    }
+
+    private record ExpiringHold(Long holdId, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
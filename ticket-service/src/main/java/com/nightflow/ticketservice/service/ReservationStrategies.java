@@ -0,0 +1,77 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kategorinin rezervasyon stratejisi: kategoride seçilmişse o, yoksa inventory.concurrency.strategy.
+ *
+ * Seçimler bellekte tutulur; kategori bu instance'ta güncellenirse commit'ten sonra silinir,
+ * diğer instance'larda en geç cache-ttl-ms sonra yenilenir. Tüm stratejiler aynı sayaçları
+ * koşullu güncellediği için geçiş sırasında farklı instance'ların farklı strateji kullanması
+ * stok sınırını bozmaz.
+ */
+@Service
+public class ReservationStrategies {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final Map<ConcurrencyStrategy, ReservationStrategy> strategies = new EnumMap<>(ConcurrencyStrategy.class);
+    private final ConcurrencyStrategy defaultStrategy;
+
+    @Value("${inventory.concurrency.cache-ttl-ms:60000}")
+    private long cacheTtlMs;
+
+    // Kategori ID -> seçim (null: varsayılan)
+    private final Map<Long, Selection> selections = new ConcurrentHashMap<>();
+
+    public ReservationStrategies(TicketCategoryRepository ticketCategoryRepository,
+                                 List<ReservationStrategy> strategies,
+                                 @Value("${inventory.concurrency.strategy:PESSIMISTIC}") ConcurrencyStrategy defaultStrategy) {
+        this.ticketCategoryRepository = ticketCategoryRepository;
+        strategies.forEach(strategy -> this.strategies.put(strategy.type(), strategy));
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    public ReservationStrategy forCategory(Long categoryId) {
+        Selection selection = selections.get(categoryId);
+        if (selection == null || System.currentTimeMillis() - selection.loadedAt() > cacheTtlMs) {
+            selection = new Selection(ticketCategoryRepository.findConcurrencyStrategyById(categoryId),
+                    System.currentTimeMillis());
+            selections.put(categoryId, selection);
+        }
+        return get(selection.strategy().orElse(defaultStrategy));
+    }
+
+    public ReservationStrategy get(ConcurrencyStrategy type) {
+        return strategies.get(type);
+    }
+
+    /**
+     * Kategori güncellendi; seçimi commit'ten sonra önbellekten sil
+     */
+    public void evictAfterCommit(Long categoryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            selections.remove(categoryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                selections.remove(categoryId);
+            }
+        });
+    }
+
+    private record Selection(Optional<ConcurrencyStrategy> strategy, long loadedAt) {
+    }
+}
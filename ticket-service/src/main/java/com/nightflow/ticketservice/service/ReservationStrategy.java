@@ -0,0 +1,14 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+
+/**
+ * Sayaç modunda rezervasyonun kategori stoğunu düşme yöntemi.
+ * Çağıranın transaction'ında çalışır; stok yetmezse InsufficientStockException.
+ */
+public interface ReservationStrategy {
+
+    ConcurrencyStrategy type();
+
+    void reserve(Long categoryId, int quantity);
+}
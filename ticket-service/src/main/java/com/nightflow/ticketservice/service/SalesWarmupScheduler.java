@@ -0,0 +1,144 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.TicketCategory;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Planlı satış açılışları öncesi ısınma.
+ *
+ * salesStartAt'a lead-minutes kalan kategoriler için rezervasyon yolunun
+ * dokunduğu her şey önceden hazırlanır: bağlantı havuzu doldurulur, satış
+ * penceresi / stok modu / koltuk haritası / müsaitlik önbellekleri ve Redis
+ * stok kapısı yüklenir, rezervasyon yolu geri alınan transaction'larla
+ * çalıştırılarak kategori satırı ve indeks sayfaları, Hibernate sorgu planları
+ * ve JIT ısıtılır. Her kategori her başlangıç zamanı için bir kez ısıtılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesWarmupScheduler {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final TicketService ticketService;
+    private final TicketPoolService ticketPoolService;
+    private final SeatMapService seatMapService;
+    private final InventoryGate inventoryGate;
+    private final AvailabilityCache availabilityCache;
+    private final SalesWindowService salesWindowService;
+    private final DataSource dataSource;
+
+    @Value("${inventory.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.warmup.lead-minutes:5}")
+    private long leadMinutes;
+
+    @Value("${inventory.warmup.dry-run-iterations:200}")
+    private int dryRunIterations;
+
+    @Value("${inventory.warmup.connections:10}")
+    private int connections;
+
+    // Kategori ID -> ısıtıldığı satış başlangıcı (başlangıç değişirse tekrar ısıtılır)
+    private final Map<Long, LocalDateTime> warmed = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${inventory.warmup.scan-interval-ms:30000}")
+    public void warmUpcomingSales() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        warmed.values().removeIf(startAt -> startAt.isBefore(now.minusHours(1)));
+
+        List<TicketCategory> upcoming = ticketCategoryRepository
+                .findBySalesStartAtBetween(now, now.plusMinutes(leadMinutes)).stream()
+                .filter(category -> !category.getSalesStartAt().equals(warmed.get(category.getId())))
+                .toList();
+        if (upcoming.isEmpty()) {
+            return;
+        }
+
+        warmConnectionPool();
+        for (TicketCategory category : upcoming) {
+            long started = System.currentTimeMillis();
+            try {
+                warm(category);
+                warmed.put(category.getId(), category.getSalesStartAt());
+                log.info("Kategori ID {} satış öncesi ısıtıldı ({} ms), satış başlangıcı: {}",
+                        category.getId(), System.currentTimeMillis() - started, category.getSalesStartAt());
+            } catch (RuntimeException e) {
+                // Bir sonraki taramada tekrar denenir
+                log.warn("Kategori ID {} ısıtılamadı: {}", category.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void warm(TicketCategory category) {
+        Long categoryId = category.getId();
+        salesWindowService.put(categoryId, category.getSalesStartAt(), category.getSalesEndAt());
+        ticketPoolService.isPooled(categoryId);
+        if (seatMapService.hasSeatMap(categoryId)) {
+            // Bitmap instance belleğine yüklenir
+            seatMapService.snapshot(categoryId);
+        }
+        inventoryGate.resync(categoryId);
+        availabilityCache.get(category.getEventId());
+        ticketService.warmUpReservation(categoryId, dryRunIterations);
+    }
+
+    /**
+     * Havuzdan aynı anda birden fazla bağlantı alarak açılıştaki bağlantı kurma maliyetini öne çek.
+     * Replika yönlendirmesi açıkken @Primary DataSource bir LazyConnectionDataSourceProxy'dir ve
+     * getConnection() fiziksel bağlantı almaz; bu yüzden arkasındaki her havuz ayrı ayrı ısıtılır.
+     */
+    private void warmConnectionPool() {
+        for (DataSource pool : pools()) {
+            warmConnectionPool(pool);
+        }
+    }
+
+    private List<DataSource> pools() {
+        DataSource target = dataSource instanceof DelegatingDataSource delegating
+                ? delegating.getTargetDataSource()
+                : dataSource;
+        if (target instanceof AbstractRoutingDataSource routing) {
+            return List.copyOf(routing.getResolvedDataSources().values());
+        }
+        return target == null ? List.of() : List.of(target);
+    }
+
+    private void warmConnectionPool(DataSource pool) {
+        List<Connection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                opened.add(pool.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Bağlantı havuzu ısıtılamadı: {}", e.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Bağlantı kapatılamadı: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.exception.SalesWindowClosedException;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kategori satış penceresi (salesStartAt / salesEndAt) kontrolü.
+ *
+ * Pencereler bellekte tutulur; rezervasyon istekleri pencere dışındaysa veritabanına
+ * gitmeden reddedilir. Kategori bu instance'ta güncellenirse commit'ten sonra
+ * silinir, diğer instance'larda en geç cache-ttl-ms sonra yenilenir.
+ * Başlangıç/bitiş boşsa o yönde sınır yoktur.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesWindowService {
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+
+    @Value("${inventory.sales-window.cache-ttl-ms:60000}")
+    private long cacheTtlMs;
+
+    private final Map<Long, SalesWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Satış penceresi dışındaysa SalesWindowClosedException. Bilinmeyen kategori için kontrol yapılmaz.
+     */
+    public void checkOpen(Long categoryId) {
+        SalesWindow window = window(categoryId);
+        if (window == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (window.startAt() != null && now.isBefore(window.startAt())) {
+            throw new SalesWindowClosedException("Satış henüz başlamadı. Başlangıç: " + window.startAt());
+        }
+        if (window.endAt() != null && now.isAfter(window.endAt())) {
+            throw new SalesWindowClosedException("Bu kategori için satış sona erdi.");
+        }
+    }
+
+    /**
+     * Pencereyi önbelleğe yükle (satış öncesi ısınma)
+     */
+    public void put(Long categoryId, LocalDateTime startAt, LocalDateTime endAt) {
+        windows.put(categoryId, new SalesWindow(startAt, endAt, System.currentTimeMillis()));
+    }
+
+    /**
+     * Kategori güncellendi; pencereyi commit'ten sonra önbellekten sil
+     */
+    public void evictAfterCommit(Long categoryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            windows.remove(categoryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                windows.remove(categoryId);
+            }
+        });
+    }
+
+    private SalesWindow window(Long categoryId) {
+        SalesWindow window = windows.get(categoryId);
+        if (window != null && System.currentTimeMillis() - window.loadedAt() <= cacheTtlMs) {
+            return window;
+        }
+        return ticketCategoryRepository.findById(categoryId)
+                .map(category -> {
+                    SalesWindow loaded = new SalesWindow(category.getSalesStartAt(), category.getSalesEndAt(),
+                            System.currentTimeMillis());
+                    windows.put(categoryId, loaded);
+                    return loaded;
+                })
+                .orElse(null);
+    }
+
+    private record SalesWindow(LocalDateTime startAt, LocalDateTime endAt, long loadedAt) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.nightflow.ticketservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Koltuk haritası: satır x koltuk ızgarası, koltuk başına bir bit (1 = satılmış/rezerve).
+ *
+ * Koltuk indeksi = satır * satırGenişliği + koltuk. Boş koltuk aramaları BitSet'in
+ * nextClearBit/nextSetBit metotlarıyla kelime (64 bit) bazında yapılır; bir satır
+ * O(satır genişliği) sürede taranır. Thread-safe değildir, çağıran senkronize eder.
+ */
+public final class SeatBitmap {
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final BitSet taken;
+
+    public SeatBitmap(int rows, int seatsPerRow, BitSet taken) {
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.taken = taken;
+    }
+
+    public static SeatBitmap empty(int rows, int seatsPerRow) {
+        return new SeatBitmap(rows, seatsPerRow, new BitSet(rows * seatsPerRow));
+    }
+
+    public static SeatBitmap fromBytes(int rows, int seatsPerRow, byte[] bytes) {
+        return new SeatBitmap(rows, seatsPerRow, BitSet.valueOf(bytes));
+    }
+
+    /**
+     * Sabit uzunlukta (ceil(koltuk / 8) byte) little-endian bit dizisi; frontend indeksle okuyabilir
+     */
+    public byte[] toBytes() {
+        return Arrays.copyOf(taken.toByteArray(), (capacity() + 7) / 8);
+    }
+
+    public SeatBitmap copy() {
+        return new SeatBitmap(rows, seatsPerRow, (BitSet) taken.clone());
+    }
+
+    public int capacity() {
+        return rows * seatsPerRow;
+    }
+
+    public int availableCount() {
+        return capacity() - taken.cardinality();
+    }
+
+    public boolean isFree(int index) {
+        return !taken.get(index);
+    }
+
+    public void take(List<Integer> indices) {
+        indices.forEach(taken::set);
+    }
+
+    public void release(List<Integer> indices) {
+        indices.forEach(taken::clear);
+    }
+
+    /**
+     * En iyi boş koltuklar: öndeki satırdan başlayarak, satır ortasına en yakın
+     * yan yana count koltuk. Hiçbir satırda yan yana yer yoksa öndeki boş koltuklar
+     * sırayla verilir. Yeterli boş koltuk yoksa boş liste.
+     */
+    public List<Integer> findBestAvailable(int count) {
+        if (count <= seatsPerRow) {
+            for (int row = 0; row < rows; row++) {
+                int start = bestBlockInRow(row, count);
+                if (start >= 0) {
+                    List<Integer> seats = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        seats.add(start + i);
+                    }
+                    return seats;
+                }
+            }
+        }
+
+        List<Integer> seats = new ArrayList<>(count);
+        for (int index = taken.nextClearBit(0); index < capacity() && seats.size() < count;
+             index = taken.nextClearBit(index + 1)) {
+            seats.add(index);
+        }
+        return seats.size() == count ? seats : List.of();
+    }
+
+    /**
+     * Satırdaki boş aralıklar içinde ortaya en yakın count'luk bloğun başlangıç indeksi, yoksa -1
+     */
+    private int bestBlockInRow(int row, int count) {
+        int rowStart = row * seatsPerRow;
+        int rowEnd = rowStart + seatsPerRow;
+        // Bloğun ideal başlangıcı: blok ortası satır ortasına denk gelir
+        int ideal = rowStart + (seatsPerRow - count) / 2;
+
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int runStart = taken.nextClearBit(rowStart);
+        while (runStart < rowEnd) {
+            int runEnd = taken.nextSetBit(runStart);
+            if (runEnd < 0 || runEnd > rowEnd) {
+                runEnd = rowEnd;
+            }
+            if (runEnd - runStart >= count) {
+                int start = Math.clamp(ideal, runStart, runEnd - count);
+                int distance = Math.abs(start - ideal);
+                if (distance < bestDistance) {
+                    best = start;
+                    bestDistance = distance;
+                }
+            }
+            if (runEnd >= rowEnd) {
+                break;
+            }
+            runStart = taken.nextClearBit(runEnd);
+        }
+        return best;
+    }
+
+    /**
+     * "A-15" -> indeks. Geçersiz etiket için IllegalArgumentException.
+     */
+    public int parse(String label) {
+        int dash = label.lastIndexOf('-');
+        if (dash <= 0) {
+            throw new IllegalArgumentException("Geçersiz koltuk: " + label);
+        }
+        int row = 0;
+        for (char c : label.substring(0, dash).toUpperCase().toCharArray()) {
+            if (c < 'A' || c > 'Z') {
+                throw new IllegalArgumentException("Geçersiz koltuk: " + label);
+            }
+            row = row * 26 + (c - 'A' + 1);
+        }
+        row -= 1;
+        int seat;
+        try {
+            seat = Integer.parseInt(label.substring(dash + 1)) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz koltuk: " + label);
+        }
+        if (row < 0 || row >= rows || seat < 0 || seat >= seatsPerRow) {
+            throw new IllegalArgumentException("Geçersiz koltuk: " + label);
+        }
+        return row * seatsPerRow + seat;
+    }
+
+    /**
+     * İndeks -> "A-15" (satır harfi, 1'den başlayan koltuk numarası)
+     */
+    public String label(int index) {
+        return rowLabel(index / seatsPerRow) + "-" + (index % seatsPerRow + 1);
+    }
+
+    /**
+     * 0 -> A, 25 -> Z, 26 -> AA
+     */
+    public static String rowLabel(int row) {
+        StringBuilder label = new StringBuilder();
+        for (int n = row + 1; n > 0; n = (n - 1) / 26) {
+            label.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return label.toString();
+    }
+}
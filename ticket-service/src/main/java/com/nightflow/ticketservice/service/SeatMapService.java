@@ -0,0 +1,159 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.dto.SeatMapResponse;
+import com.nightflow.ticketservice.entity.SeatMap;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.exception.ResourceNotFoundException;
+import com.nightflow.ticketservice.repository.SeatMapRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numaralı oturma: kategori başına koltuk haritası ve koltuk ataması.
+ *
+ * Harita seat_maps tablosunda bitset olarak saklanır ve her instance'ta sürüm
+ * numarasıyla bellekte tutulur. Atama, harita satırı kilitlenerek rezervasyon
+ * transaction'ı içinde yapılır; bellekteki kopya sadece commit'ten sonra
+ * güncellenir, sürüm farklıysa veritabanından yeniden okunur.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapService {
+
+    private final SeatMapRepository seatMapRepository;
+
+    // Kategorinin koltuk haritası olup olmadığı oluşturulduktan sonra değişmez
+    private final Map<Long, Boolean> seated = new ConcurrentHashMap<>();
+    private final Map<Long, CachedBitmap> bitmaps = new ConcurrentHashMap<>();
+
+    public boolean hasSeatMap(Long categoryId) {
+        return seated.computeIfAbsent(categoryId, seatMapRepository::existsById);
+    }
+
+    /**
+     * Kategori için boş koltuk haritası oluştur
+     */
+    @Transactional
+    public void create(Long categoryId, int rows, int seatsPerRow) {
+        seatMapRepository.save(SeatMap.builder()
+                .categoryId(categoryId)
+                .seatRows(rows)
+                .seatsPerRow(seatsPerRow)
+                .takenSeats(SeatBitmap.empty(rows, seatsPerRow).toBytes())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        seated.put(categoryId, true);
+        log.info("Kategori ID {} için {}x{} koltuk haritası oluşturuldu", categoryId, rows, seatsPerRow);
+    }
+
+    /**
+     * Rezervasyon transaction'ı içinde koltuk ata: seçilen koltuklar veya en iyi boş koltuklar.
+     * Harita satırı transaction sonuna kadar kilitli kalır.
+     */
+    public List<String> allocate(Long categoryId, int quantity, List<String> requestedSeats) {
+        SeatMap seatMap = lock(categoryId);
+        SeatBitmap bitmap = load(seatMap).copy();
+
+        List<Integer> seats;
+        if (requestedSeats != null && !requestedSeats.isEmpty()) {
+            seats = requestedSeats.stream().map(bitmap::parse).distinct().toList();
+            if (seats.size() != quantity) {
+                throw new IllegalArgumentException("Seçilen koltuk sayısı adet ile aynı olmalıdır");
+            }
+            List<String> unavailable = seats.stream()
+                    .filter(index -> !bitmap.isFree(index))
+                    .map(bitmap::label)
+                    .toList();
+            if (!unavailable.isEmpty()) {
+                throw new InsufficientStockException("Seçilen koltuklar müsait değil: " + String.join(", ", unavailable));
+            }
+        } else {
+            seats = bitmap.findBestAvailable(quantity);
+            if (seats.isEmpty()) {
+                throw new InsufficientStockException("Yetersiz koltuk. Mevcut: " + bitmap.availableCount());
+            }
+        }
+
+        bitmap.take(seats);
+        save(seatMap, bitmap);
+        return seats.stream().map(bitmap::label).toList();
+    }
+
+    /**
+     * Koltukları serbest bırak (iptal, süre aşımı). Kilitlenme olmaması için haritalar kategori ID sırasıyla kilitlenir.
+     */
+    public void release(Map<Long, List<String>> seatsByCategory) {
+        new TreeMap<>(seatsByCategory).forEach((categoryId, labels) -> {
+            SeatMap seatMap = lock(categoryId);
+            SeatBitmap bitmap = load(seatMap).copy();
+            bitmap.release(labels.stream().map(bitmap::parse).toList());
+            save(seatMap, bitmap);
+        });
+    }
+
+    /**
+     * Frontend için harita anlık görüntüsü (bilet tablosu taranmaz)
+     */
+    @Transactional(readOnly = true)
+    public SeatMapResponse snapshot(Long categoryId) {
+        SeatMap seatMap = seatMapRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("SeatMap", "categoryId", categoryId));
+        SeatBitmap bitmap = load(seatMap);
+        return SeatMapResponse.builder()
+                .categoryId(categoryId)
+                .seatRows(seatMap.getSeatRows())
+                .seatsPerRow(seatMap.getSeatsPerRow())
+                .availableSeats(bitmap.availableCount())
+                .takenSeats(Base64.getEncoder().encodeToString(seatMap.getTakenSeats()))
+                .version(seatMap.getVersion())
+                .build();
+    }
+
+    private SeatMap lock(Long categoryId) {
+        return seatMapRepository.findByIdWithLock(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("SeatMap", "categoryId", categoryId));
+    }
+
+    /**
+     * Bellekteki harita; sürüm veritabanındakinden farklıysa yeniden oku. Dönen nesne değiştirilmemeli.
+     */
+    private SeatBitmap load(SeatMap seatMap) {
+        CachedBitmap cached = bitmaps.get(seatMap.getCategoryId());
+        if (cached != null && cached.version().equals(seatMap.getVersion())) {
+            return cached.bitmap();
+        }
+        SeatBitmap bitmap = SeatBitmap.fromBytes(seatMap.getSeatRows(), seatMap.getSeatsPerRow(), seatMap.getTakenSeats());
+        bitmaps.put(seatMap.getCategoryId(), new CachedBitmap(seatMap.getVersion(), bitmap));
+        return bitmap;
+    }
+
+    private void save(SeatMap seatMap, SeatBitmap bitmap) {
+        seatMap.setTakenSeats(bitmap.toBytes());
+        seatMap.setUpdatedAt(LocalDateTime.now());
+        seatMapRepository.saveAndFlush(seatMap);
+
+        // Sürüm flush ile arttı; bellekteki kopya sadece commit olursa güncellenir
+        Long version = seatMap.getVersion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bitmaps.put(seatMap.getCategoryId(), new CachedBitmap(version, bitmap));
+            }
+        });
+    }
+
+    private record CachedBitmap(Long version, SeatBitmap bitmap) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tükenen kategorilerin otomatik takibi.
+ *
+ * Stok değiştiren her commit kategoriyi kirli olarak işaretler; kısa aralıklarla
+ * kirli kategoriler tek UPDATE ile SOLD_OUT/AVAILABLE arasında geçirilir. Tükenmiş
+ * kategori ID'leri bellekte tutulur ve rezervasyon istekleri transaction açılmadan
+ * reddedilir. Geçişler Redis'te yayınlanır ("SOLD_OUT:{id}" / "AVAILABLE:{id}") ve
+ * inventory:sold-out kümesinde tutulur; diğer instance'lar ve shopping-cart-service
+ * kendi kümelerini buna göre günceller. Geçişler ayrıca aynı transaction'da
+ * outbox'a yazılır (InventoryOutbox). Kesin kontrol yine veritabanındadır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SoldOutTracker implements MessageListener {
+
+    public static final String STATUS_CHANNEL = "inventory:category-status";
+    public static final String SOLD_OUT_SET_KEY = "inventory:sold-out";
+
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final AvailabilityCache availabilityCache;
+    private final InventoryOutbox inventoryOutbox;
+    private final StringRedisTemplate redisTemplate;
+
+    private final Set<Long> soldOut = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    public boolean isSoldOut(Long categoryId) {
+        return soldOut.contains(categoryId);
+    }
+
+    @EventListener
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        dirtyCategories.add(event.categoryId());
+    }
+
+    /**
+     * Stok iade edildi (iptal, süre aşımı, kiralama iadesi, miktar artışı): commit'ten sonra bu
+     * instance rezervasyonları hemen kabul eder; durum bir sonraki kontrolde AVAILABLE olur ve yayınlanır
+     */
+    public void releasedAfterCommit(Long categoryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            soldOut.remove(categoryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                soldOut.remove(categoryId);
+            }
+        });
+    }
+
+    /**
+     * Stok yetersiz hatası alan kategoriyi bir sonraki kontrolde yeniden değerlendir
+     */
+    public void recheck(Long categoryId) {
+        dirtyCategories.add(categoryId);
+    }
+
+    /**
+     * Bu instance'ın stoğunu değiştirdiği kategorilerin durumunu güncelle
+     */
+    @Scheduled(fixedDelayString = "${inventory.sold-out.check-interval-ms:500}")
+    @Transactional
+    public void flipStatuses() {
+        if (dirtyCategories.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(dirtyCategories);
+        dirtyCategories.removeAll(ids);
+
+        List<Object[]> flipped;
+        try {
+            flipped = ticketCategoryRepository.flipSoldOutStatus(ids);
+        } catch (RuntimeException e) {
+            dirtyCategories.addAll(ids);
+            throw e;
+        }
+
+        for (Object[] row : flipped) {
+            Long categoryId = ((Number) row[0]).longValue();
+            String eventId = (String) row[1];
+            CategoryStatus status = CategoryStatus.valueOf((String) row[2]);
+            availabilityCache.markEventChanged(eventId);
+            inventoryOutbox.statusChanged(categoryId, eventId, status);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(categoryId, status);
+                    publish(categoryId, status);
+                }
+            });
+            log.info("Kategori ID {} (etkinlik {}) durumu: {}", categoryId, eventId, status);
+        }
+    }
+
+    /**
+     * Yedek: bellekteki kümeyi veritabanıyla eşitle (kaçırılan Redis mesajları için)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${inventory.sold-out.refresh-interval-ms:30000}")
+    public void refresh() {
+        Set<Long> ids = Set.copyOf(ticketCategoryRepository.findIdsByStatus(CategoryStatus.SOLD_OUT));
+        soldOut.retainAll(ids);
+        soldOut.addAll(ids);
+    }
+
+    /**
+     * Diğer instance'ların yayınladığı geçişler
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            apply(Long.parseLong(body.substring(separator + 1)), CategoryStatus.valueOf(body.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Geçersiz kategori durum mesajı: {}", body);
+        }
+    }
+
+    private void apply(Long categoryId, CategoryStatus status) {
+        if (status == CategoryStatus.SOLD_OUT) {
+            soldOut.add(categoryId);
+        } else {
+            soldOut.remove(categoryId);
+        }
+    }
+
+    private void publish(Long categoryId, CategoryStatus status) {
+        try {
+            if (status == CategoryStatus.SOLD_OUT) {
+                redisTemplate.opsForSet().add(SOLD_OUT_SET_KEY, categoryId.toString());
+            } else {
+                redisTemplate.opsForSet().remove(SOLD_OUT_SET_KEY, categoryId.toString());
+            }
+            redisTemplate.convertAndSend(STATUS_CHANNEL, status + ":" + categoryId);
+        } catch (RuntimeException e) {
+            // Diğer instance'lar periyodik yenilemede veritabanından öğrenir
+            log.warn("Kategori ID {} durum geçişi Redis'e yayınlanamadı: {}", categoryId, e.getMessage());
+        }
+    }
+}
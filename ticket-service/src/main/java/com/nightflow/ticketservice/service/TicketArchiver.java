@@ -0,0 +1,71 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soğuk arşivleme: geçmiş etkinliklerin USED/CANCELLED biletlerini arşiv bölümüne taşır.
+ *
+ * Etkinlik tarihi ticket-service'te tutulmadığı için "geçmiş" ölçütü kategorinin satış
+ * bitişi veya biletin check-in zamanıdır (after-days gün önce). Her grup kendi kısa
+ * transaction'ında taşınır, gruplar arasında beklenir; canlı trafik uzun kilit görmez.
+ * Arşivlenen biletler tickets üzerinden okunmaya devam eder.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketArchiver {
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tickets.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tickets.archive.after-days:30}")
+    private long afterDays;
+
+    @Value("${tickets.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tickets.archive.pause-ms:100}")
+    private long pauseMs;
+
+    @Scheduled(cron = "${tickets.archive.cron:0 30 4 * * *}")
+    public void archivePastEventTickets() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> ticketRepository.archiveClosedTickets(cutoff, batchSize));
+            total += moved;
+            if (moved == batchSize && !pause()) {
+                break;
+            }
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("{} bilet arşive taşındı (ölçüt: {} öncesi)", total, cutoff);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
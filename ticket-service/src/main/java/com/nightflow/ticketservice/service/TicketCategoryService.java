@@ -2,6 +2,7 @@ package com.nightflow.ticketservice.service;
 
 import com.nightflow.ticketservice.dto.TicketCategoryRequest;
 import com.nightflow.ticketservice.dto.TicketCategoryResponse;
+import com.nightflow.ticketservice.entity.InventoryMode;
 import com.nightflow.ticketservice.entity.TicketCategory;
 import com.nightflow.ticketservice.exception.ResourceNotFoundException;
 import com.nightflow.ticketservice.repository.TicketCategoryRepository;
@@ -18,9 +19,18 @@ import java.util.stream.Collectors;
 public class TicketCategoryService {
 
     private final TicketCategoryRepository ticketCategoryRepository;
+    private final InventoryGate inventoryGate;
+    private final TicketPoolService ticketPoolService;
+    private final SeatMapService seatMapService;
+    private final AvailabilityCache availabilityCache;
+    private final SalesWindowService salesWindowService;
+    private final SoldOutTracker soldOutTracker;
+    private final InventoryLedger inventoryLedger;
+    private final ReservationStrategies reservationStrategies;
 
     private final com.nightflow.ticketservice.client.EventServiceClient eventServiceClient;
 
+    @Transactional
     public TicketCategoryResponse create(TicketCategoryRequest request, String organizerId) {
         // Verify event ownership
         com.nightflow.ticketservice.dto.EventResponse event = eventServiceClient.getEvent(request.getEventId());
@@ -36,17 +46,34 @@ public class TicketCategoryService {
                 .totalQuantity(request.getTotalQuantity())
                 .salesStartAt(request.getSalesStartAt())
                 .salesEndAt(request.getSalesEndAt())
+                .inventoryMode(request.getInventoryMode() != null ? request.getInventoryMode() : InventoryMode.COUNTER)
+                .concurrencyStrategy(request.getConcurrencyStrategy())
                 .build();
 
-        return toResponse(ticketCategoryRepository.save(category));
+        boolean seated = request.getSeatRows() != null || request.getSeatsPerRow() != null;
+        if (seated) {
+            validateSeating(request, category.getInventoryMode());
+        }
+
+        TicketCategory saved = ticketCategoryRepository.save(category);
+        if (seated) {
+            seatMapService.create(saved.getId(), request.getSeatRows(), request.getSeatsPerRow());
+        }
+        if (saved.getInventoryMode() == InventoryMode.POOL) {
+            ticketPoolService.mint(saved.getId(), 1, saved.getTotalQuantity());
+        }
+        availabilityCache.markEventChanged(saved.getEventId());
+        return toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<TicketCategoryResponse> findByEventId(String eventId) {
         return ticketCategoryRepository.findByEventId(eventId).stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public TicketCategoryResponse findById(Long id) {
         TicketCategory category = ticketCategoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TicketCategory", "id", id));
@@ -55,30 +82,71 @@ public class TicketCategoryService {
 
     @Transactional
     public TicketCategoryResponse update(Long id, TicketCategoryRequest request, String organizerId) {
-        TicketCategory category = ticketCategoryRepository.findById(id)
+        String eventId = ticketCategoryRepository.findEventIdById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TicketCategory", "id", id));
 
         // Verify event ownership (Category belongs to event, user must own event)
-        com.nightflow.ticketservice.dto.EventResponse event = eventServiceClient.getEvent(category.getEventId());
+        com.nightflow.ticketservice.dto.EventResponse event = eventServiceClient.getEvent(eventId);
         if (!event.getOrganizerId().equals(organizerId)) {
             throw new RuntimeException("Bu bilet kategorisini düzenleme yetkiniz yok.");
         }
 
+        // Satır yetki kontrolünden sonra kilitlenir (uzak çağrı sırasında rezervasyonlar beklemez);
+        // sayaçlar güncel okunur, kaydederken sürüm çakışması olmaz
+        TicketCategory category = ticketCategoryRepository.findByIdWithLock(id)
+                .orElseThrow(() -> new ResourceNotFoundException("TicketCategory", "id", id));
+
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setPrice(request.getPrice());
         
-        // Stok artırılabilir ama azaltılamaz (satılanlardan az olamaz)
-        if (request.getTotalQuantity() < category.getSoldQuantity() + category.getReservedQuantity()) {
+        // Stok artırılabilir ama azaltılamaz (satılanlardan az olamaz).
+        // Defter açıksa katlanmamış rezervasyonlar da sayılır ve yeni rezervasyonlar commit'e kadar bekler.
+        long taken = inventoryLedger.lockAndCountTaken(category.getId())
+                .orElse(category.getSoldQuantity() + category.getReservedQuantity());
+        if (request.getTotalQuantity() < taken) {
             throw new IllegalArgumentException("Toplam miktar satılan ve rezerve edilen miktardan az olamaz");
         }
+        int previousTotal = category.getTotalQuantity();
+        if (seatMapService.hasSeatMap(category.getId()) && request.getTotalQuantity() != previousTotal) {
+            throw new IllegalArgumentException("Numaralı oturmada toplam miktar koltuk sayısına eşittir, değiştirilemez");
+        }
+        if (category.getInventoryMode() == InventoryMode.POOL) {
+            // Havuzdaki biletler silinmez; sadece yeni biletler eklenebilir
+            if (request.getTotalQuantity() < previousTotal) {
+                throw new IllegalArgumentException("Havuz modunda toplam miktar azaltılamaz");
+            }
+            ticketPoolService.mint(category.getId(), previousTotal + 1, request.getTotalQuantity());
+        }
         category.setTotalQuantity(request.getTotalQuantity());
+        inventoryLedger.adjust(category.getId(), request.getTotalQuantity() - previousTotal);
         
         category.setSalesStartAt(request.getSalesStartAt());
         category.setSalesEndAt(request.getSalesEndAt());
+        category.setConcurrencyStrategy(request.getConcurrencyStrategy());
         category.setUpdatedAt(LocalDateTime.now());
 
-        return toResponse(ticketCategoryRepository.save(category));
+        TicketCategory saved = ticketCategoryRepository.save(category);
+        inventoryGate.resyncAfterCommit(saved.getId());
+        availabilityCache.markChanged(saved.getId());
+        salesWindowService.evictAfterCommit(saved.getId());
+        reservationStrategies.evictAfterCommit(saved.getId());
+        if (saved.getAvailableQuantity() > 0) {
+            soldOutTracker.releasedAfterCommit(saved.getId());
+        }
+        return toResponse(saved);
+    }
+
+    private void validateSeating(TicketCategoryRequest request, InventoryMode mode) {
+        if (request.getSeatRows() == null || request.getSeatsPerRow() == null) {
+            throw new IllegalArgumentException("Numaralı oturma için sıra ve sıradaki koltuk sayısı birlikte verilmelidir");
+        }
+        if (request.getSeatRows() * request.getSeatsPerRow() != request.getTotalQuantity()) {
+            throw new IllegalArgumentException("Sıra x koltuk sayısı toplam miktara eşit olmalıdır");
+        }
+        if (mode == InventoryMode.POOL) {
+            throw new IllegalArgumentException("Numaralı oturma havuz modu ile kullanılamaz");
+        }
     }
 
     private TicketCategoryResponse toResponse(TicketCategory category) {
@@ -93,6 +161,8 @@ public class TicketCategoryService {
                 .reservedQuantity(category.getReservedQuantity())
                 .availableQuantity(category.getAvailableQuantity())
                 .status(category.getStatus())
+                .inventoryMode(category.getInventoryMode())
+                .concurrencyStrategy(category.getConcurrencyStrategy())
                 .salesStartAt(category.getSalesStartAt())
                 .salesEndAt(category.getSalesEndAt())
                 .createdAt(category.getCreatedAt())
@@ -0,0 +1,130 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.entity.InventoryMode;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import com.nightflow.ticketservice.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Önceden oluşturulmuş bilet havuzu (InventoryMode.POOL).
+ *
+ * Kategori oluşturulurken veya toplam miktar artırılırken tüm biletler AVAILABLE
+ * olarak eklenir. Rezervasyon N satırı FOR UPDATE SKIP LOCKED ile sahiplenir;
+ * eşzamanlı alıcılar tek bir kategori kilidinin arkasında sıraya girmez.
+ * Kategori sayaçları (reserved/sold) bilet durumlarından periyodik olarak
+ * yeniden hesaplanır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketPoolService {
+
+    private final TicketRepository ticketRepository;
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final AvailabilityCache availabilityCache;
+
+    // Stok modu kategori oluşturulduktan sonra değişmez
+    private final Map<Long, InventoryMode> modes = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Kategori havuz modunda mı? Bilinmeyen kategori için false.
+     */
+    public boolean isPooled(Long categoryId) {
+        InventoryMode mode = modes.get(categoryId);
+        if (mode == null) {
+            mode = ticketCategoryRepository.findInventoryModeById(categoryId).orElse(null);
+            if (mode == null) {
+                return false;
+            }
+            modes.put(categoryId, mode);
+        }
+        return mode == InventoryMode.POOL;
+    }
+
+    /**
+     * Koltuk numarası fromSeat..toSeat olan biletleri oluştur
+     */
+    @Transactional
+    public void mint(Long categoryId, int fromSeat, int toSeat) {
+        if (fromSeat > toSeat) {
+            return;
+        }
+        int minted = ticketRepository.mintTickets(categoryId, fromSeat, toSeat);
+        modes.put(categoryId, InventoryMode.POOL);
+        log.info("Kategori ID {}: {} bilet havuza eklendi", categoryId, minted);
+    }
+
+    /**
+     * Rezervasyon için bilet sahiplen. Yeterli bilet yoksa daha az kod döner.
+     */
+    public List<String> claim(Long categoryId, Long holdId, String sessionId, int quantity) {
+        List<String> codes = ticketRepository.claimAvailable(categoryId, holdId, sessionId, LocalDateTime.now(), quantity);
+        markDirtyAfterCommit(categoryId);
+        return codes;
+    }
+
+    /**
+     * Rezervasyonların sahiplendiği biletleri havuza iade et ve kategori başına iade edilen adedi döndür
+     */
+    public Map<Long, Integer> revert(Collection<Long> holdIds) {
+        Map<Long, Integer> reverted = new HashMap<>();
+        for (Object[] row : ticketRepository.revertClaimed(holdIds)) {
+            Long categoryId = ((Number) row[0]).longValue();
+            reverted.put(categoryId, ((Number) row[1]).intValue());
+            markDirtyAfterCommit(categoryId);
+        }
+        return reverted;
+    }
+
+    /**
+     * Sayaçları commit'ten sonra yeniden hesaplanacak kategori olarak işaretle
+     */
+    public void markDirtyAfterCommit(Long categoryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirtyCategories.add(categoryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dirtyCategories.add(categoryId);
+            }
+        });
+    }
+
+    /**
+     * Bu instance'ın dokunduğu havuz kategorilerinin sayaçlarını güncelle
+     */
+    @Scheduled(fixedDelayString = "${inventory.pool.counter-sync-interval-ms:2000}")
+    @Transactional
+    public void syncCounters() {
+        if (dirtyCategories.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(dirtyCategories);
+        dirtyCategories.removeAll(ids);
+        try {
+            ticketCategoryRepository.syncPoolCounters(ids);
+            ids.forEach(availabilityCache::markChanged);
+        } catch (RuntimeException e) {
+            dirtyCategories.addAll(ids);
+            throw e;
+        }
+        log.debug("{} havuz kategorisinin sayaçları güncellendi", ids.size());
+    }
+}
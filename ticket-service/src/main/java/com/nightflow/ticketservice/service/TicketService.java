@@ -1,23 +1,35 @@
 package com.nightflow.ticketservice.service;
 
 import com.nightflow.ticketservice.dto.*;
+import com.nightflow.ticketservice.entity.ReservationHold;
 import com.nightflow.ticketservice.entity.Ticket;
 import com.nightflow.ticketservice.entity.TicketCategory;
-import com.nightflow.ticketservice.entity.CategoryStatus;
 import com.nightflow.ticketservice.entity.TicketStatus;
 import com.nightflow.ticketservice.exception.InsufficientStockException;
 import com.nightflow.ticketservice.exception.ResourceNotFoundException;
+import com.nightflow.ticketservice.repository.ReservationHoldRepository;
 import com.nightflow.ticketservice.repository.TicketCategoryRepository;
 import com.nightflow.ticketservice.repository.TicketRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,133 +37,371 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TicketService {
 
+    static final Duration RESERVATION_TTL = Duration.ofMinutes(15);
+
     private final TicketRepository ticketRepository;
+    private final ReservationHoldRepository reservationHoldRepository;
     private final TicketCategoryRepository ticketCategoryRepository;
+    private final InventoryLeaseManager inventoryLeaseManager;
+    private final InventoryLedger inventoryLedger;
+    private final InventoryOutbox inventoryOutbox;
+    private final InventoryGate inventoryGate;
+    private final ReservationBatcher reservationBatcher;
+    private final ReservationStrategies reservationStrategies;
+    private final ReservationExpiryScheduler reservationExpiryScheduler;
+    private final TicketPoolService ticketPoolService;
+    private final SeatMapService seatMapService;
+    private final AvailabilityCache availabilityCache;
+    private final SoldOutTracker soldOutTracker;
+    private final SalesWindowService salesWindowService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    @Value("${tickets.export.page-size:1000}")
+    private int exportPageSize;
+
+    /**
+     * Rezervasyon: önce satış penceresi, tükenmiş kategori kümesi ve Redis stok kapısı, sonra veritabanı transaction'ı.
+     * Bu kontrollerin reddettiği istekler hiç transaction açmaz.
+     */
     public ReservationResponse reserveTickets(ReservationRequest request) {
         log.info("Rezervasyon isteği: {}", request);
-        
-        TicketCategory category = ticketCategoryRepository.findByIdWithLock(request.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", request.getCategoryId()));
 
-        if (category.getAvailableQuantity() < request.getQuantity()) {
-            throw new InsufficientStockException("Yetersiz stok. Mevcut: " + category.getAvailableQuantity());
+        salesWindowService.checkOpen(request.getCategoryId());
+        if (soldOutTracker.isSoldOut(request.getCategoryId())) {
+            throw new InsufficientStockException("Bu kategori tükendi.");
         }
 
-        category.setReservedQuantity(category.getReservedQuantity() + request.getQuantity());
-        category.setUpdatedAt(LocalDateTime.now());
-        ticketCategoryRepository.save(category);
+        boolean seated = seatMapService.hasSeatMap(request.getCategoryId());
+        if (!seated && request.getSeats() != null && !request.getSeats().isEmpty()) {
+            throw new IllegalArgumentException("Bu kategoride koltuk seçimi yapılamaz");
+        }
 
-        List<String> ticketCodes = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-        
-        for (int i = 0; i < request.getQuantity(); i++) {
-            Ticket ticket = Ticket.builder()
-                    .category(category)
-                    .status(TicketStatus.RESERVED)
+        if (!inventoryGate.tryReserve(request.getCategoryId(), request.getQuantity())) {
+            throw new InsufficientStockException("Yetersiz stok.");
+        }
+
+        try {
+            if (seated) {
+                // Numaralı oturma: koltuk haritası kilitlenir, koltuklar atanır
+                return transactionTemplate.execute(status -> reserveSeats(request));
+            }
+            if (ticketPoolService.isPooled(request.getCategoryId())) {
+                // Havuz modu: biletler satır bazında sahiplenilir, kategori kilidi yok
+                return transactionTemplate.execute(status -> reserveFromPool(request));
+            }
+            if (!inventoryLedger.isEnabled() && reservationBatcher.isHot(request.getCategoryId())) {
+                // Yoğun kategori: istekler toplu olarak tek transaction'da işlenir (defter açıkken gerek yok)
+                return reservationBatcher.reserve(request);
+            }
+            return transactionTemplate.execute(status -> doReserveTickets(request));
+        } catch (InsufficientStockException e) {
+            // Redis veritabanından farklı düşünüyor, eşitle
+            inventoryGate.resync(request.getCategoryId());
+            soldOutTracker.recheck(request.getCategoryId());
+            throw e;
+        } catch (RuntimeException e) {
+            inventoryGate.release(request.getCategoryId(), request.getQuantity());
+            throw e;
+        }
+    }
+
+    /**
+     * Çoklu kategori rezervasyonu: tüm kategoriler tek transaction'da, hepsi ya da hiçbiri.
+     * Kilitler her zaman aynı sırayla alınır: önce koltuk haritaları, sonra kategori satırları,
+     * ikisi de kategori ID'sine göre artan. İptal ve süre aşımı da bu sırayı izler; eşzamanlı
+     * çoklu kategori alıcıları birbirini kilitlemez (deadlock olmaz).
+     * Her kategori için aynı session ID ile ayrı rezervasyon satırı oluşur; satış onayı
+     * ve iptal mevcut session bazlı akışla çalışır.
+     */
+    public BatchReservationResponse reserveBatch(BatchReservationRequest request) {
+        log.info("Çoklu rezervasyon isteği: {}", request);
+
+        Map<Long, ReservationRequest> requests = new TreeMap<>();
+        for (BatchReservationRequest.Item item : request.getItems()) {
+            ReservationRequest single = ReservationRequest.builder()
+                    .categoryId(item.getCategoryId())
+                    .quantity(item.getQuantity())
                     .sessionId(request.getSessionId())
-                    .reservedAt(now)
-                    .createdAt(now)
+                    .seats(item.getSeats())
                     .build();
-            
-            Ticket savedTicket = ticketRepository.save(ticket);
-            ticketCodes.add(savedTicket.getTicketCode());
+            if (requests.putIfAbsent(item.getCategoryId(), single) != null) {
+                throw new IllegalArgumentException("Aynı kategori birden fazla kez seçilemez");
+            }
+            salesWindowService.checkOpen(item.getCategoryId());
+            if (soldOutTracker.isSoldOut(item.getCategoryId())) {
+                throw new InsufficientStockException("Bu kategori tükendi. Kategori ID: " + item.getCategoryId());
+            }
         }
 
-        return ReservationResponse.builder()
+        Map<Long, Boolean> seated = new HashMap<>();
+        requests.values().forEach(single -> {
+            boolean hasSeatMap = seatMapService.hasSeatMap(single.getCategoryId());
+            if (!hasSeatMap && single.getSeats() != null && !single.getSeats().isEmpty()) {
+                throw new IllegalArgumentException("Bu kategoride koltuk seçimi yapılamaz");
+            }
+            seated.put(single.getCategoryId(), hasSeatMap);
+        });
+
+        List<ReservationRequest> gated = new ArrayList<>();
+        for (ReservationRequest single : requests.values()) {
+            if (!inventoryGate.tryReserve(single.getCategoryId(), single.getQuantity())) {
+                gated.forEach(passed -> inventoryGate.release(passed.getCategoryId(), passed.getQuantity()));
+                throw new InsufficientStockException("Yetersiz stok. Kategori ID: " + single.getCategoryId());
+            }
+            gated.add(single);
+        }
+
+        try {
+            List<ReservationResponse> reservations = transactionTemplate.execute(status ->
+                    doReserveBatch(gated, seated));
+            return BatchReservationResponse.builder()
+                    .sessionId(request.getSessionId())
+                    .reservations(reservations)
+                    .build();
+        } catch (InsufficientStockException e) {
+            // Hangi kategorinin Redis'ten farklı olduğu belli değil, hepsini eşitle
+            requests.keySet().forEach(inventoryGate::resync);
+            requests.keySet().forEach(soldOutTracker::recheck);
+            throw e;
+        } catch (RuntimeException e) {
+            gated.forEach(single -> inventoryGate.release(single.getCategoryId(), single.getQuantity()));
+            throw e;
+        }
+    }
+
+    private List<ReservationResponse> doReserveBatch(List<ReservationRequest> requests, Map<Long, Boolean> seated) {
+        // 1. Koltuk haritaları (artan kategori ID)
+        Map<Long, List<String>> seats = new HashMap<>();
+        for (ReservationRequest single : requests) {
+            if (seated.get(single.getCategoryId())) {
+                seats.put(single.getCategoryId(),
+                        seatMapService.allocate(single.getCategoryId(), single.getQuantity(), single.getSeats()));
+            }
+        }
+
+        // 2. Kategori satırları (artan kategori ID); havuz modu kategori satırını kilitlemez
+        List<ReservationResponse> reservations = new ArrayList<>();
+        for (ReservationRequest single : requests) {
+            if (seats.containsKey(single.getCategoryId())) {
+                reservations.add(completeSeatReservation(single, seats.get(single.getCategoryId())));
+            } else if (ticketPoolService.isPooled(single.getCategoryId())) {
+                reservations.add(reserveFromPool(single));
+            } else {
+                reservations.add(doReserveTickets(single));
+            }
+        }
+        return reservations;
+    }
+
+    /**
+     * Satış öncesi ısınma: kategorinin rezervasyon yolunu geri alınan transaction'larla çalıştır.
+     * Hibernate sorgu planları, JIT ve indeks sayfaları ısınır; kalıcı etkisi yoktur
+     * (stok sayaçları, koltuklar ve havuz biletleri rollback ile geri döner, süre aşımı kuyruğuna eklenmez).
+     */
+    void warmUpReservation(Long categoryId, int iterations) {
+        boolean seated = seatMapService.hasSeatMap(categoryId);
+        boolean pooled = ticketPoolService.isPooled(categoryId);
+        for (int i = 0; i < iterations; i++) {
+            ReservationRequest request = ReservationRequest.builder()
+                    .categoryId(categoryId)
+                    .quantity(1)
+                    .sessionId("warmup-" + UUID.randomUUID())
+                    .build();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    if (seated) {
+                        reserveSeats(request);
+                    } else if (pooled) {
+                        reserveFromPool(request);
+                    } else {
+                        doReserveTickets(request);
+                    }
+                });
+            } catch (InsufficientStockException e) {
+                // Stok yok; ısınacak rezervasyon yolu da yok
+                return;
+            }
+        }
+    }
+
+    private ReservationResponse doReserveTickets(ReservationRequest request) {
+        TicketCategory category;
+        if (inventoryLedger.tryReserve(request.getCategoryId(), request.getQuantity(), request.getSessionId())) {
+            // Stok deftere delta olarak eklendi, kategori satırı güncellenmez
+            category = ticketCategoryRepository.getReferenceById(request.getCategoryId());
+        } else if (inventoryLeaseManager.tryAcquire(request.getCategoryId(), request.getQuantity())) {
+            // Stok bu instance'ın kiraladığı bloktan düşüldü, kategori satırı kilitlenmez
+            category = ticketCategoryRepository.getReferenceById(request.getCategoryId());
+        } else {
+            // Kategori satırı seçilen eşzamanlılık stratejisiyle güncellenir
+            reservationStrategies.forCategory(request.getCategoryId())
+                    .reserve(request.getCategoryId(), request.getQuantity());
+            availabilityCache.markChanged(request.getCategoryId());
+            category = ticketCategoryRepository.getReferenceById(request.getCategoryId());
+        }
+
+        // Rezervasyon başına tek satır; biletler satış onayında oluşturulur
+        ReservationHold hold = saveHold(category.getId(), request, null);
+        reservationExpiryScheduler.schedule(hold);
+
+        return toReservationResponse(hold);
+    }
+
+    /**
+     * Havuz modu: önceden oluşturulmuş biletlerden SKIP LOCKED ile sahiplen.
+     * Kategori sayaçları burada güncellenmez, TicketPoolService periyodik olarak hesaplar.
+     */
+    private ReservationResponse reserveFromPool(ReservationRequest request) {
+        ReservationHold hold = saveHold(request.getCategoryId(), request, null);
+
+        List<String> ticketCodes = ticketPoolService.claim(
+                request.getCategoryId(), hold.getId(), request.getSessionId(), request.getQuantity());
+        if (ticketCodes.size() < request.getQuantity()) {
+            throw new InsufficientStockException("Yetersiz stok. Mevcut: " + ticketCodes.size());
+        }
+        reservationExpiryScheduler.schedule(hold);
+
+        ReservationResponse response = toReservationResponse(hold);
+        response.setTicketCodes(ticketCodes);
+        return response;
+    }
+
+    /**
+     * Numaralı oturma: seçilen veya en iyi boş koltukları ata, stok sayacını koşullu artır.
+     * Koltuklar rezervasyonda saklanır, satış onayında biletlere yazılır.
+     */
+    private ReservationResponse reserveSeats(ReservationRequest request) {
+        List<String> seats = seatMapService.allocate(request.getCategoryId(), request.getQuantity(), request.getSeats());
+        return completeSeatReservation(request, seats);
+    }
+
+    private ReservationResponse completeSeatReservation(ReservationRequest request, List<String> seats) {
+        if (ticketCategoryRepository.reserveIfAvailable(request.getCategoryId(), request.getQuantity()) == 0) {
+            throw new InsufficientStockException("Yetersiz stok.");
+        }
+        availabilityCache.markChanged(request.getCategoryId());
+
+        ReservationHold hold = saveHold(request.getCategoryId(), request, seats);
+        reservationExpiryScheduler.schedule(hold);
+        return toReservationResponse(hold);
+    }
+
+    private ReservationHold saveHold(Long categoryId, ReservationRequest request, List<String> seats) {
+        LocalDateTime now = LocalDateTime.now();
+        ReservationHold hold = reservationHoldRepository.save(ReservationHold.builder()
+                .categoryId(categoryId)
                 .sessionId(request.getSessionId())
-                .categoryId(category.getId())
                 .quantity(request.getQuantity())
-                .ticketCodes(ticketCodes)
-                .reservedAt(now)
-                .expiresAt(now.plusMinutes(15))
+                .seats(seats != null ? String.join(",", seats) : null)
+                .createdAt(now)
+                .expiresAt(now.plus(RESERVATION_TTL))
+                .build());
+        inventoryOutbox.reserved(hold);
+        return hold;
+    }
+
+    static ReservationResponse toReservationResponse(ReservationHold hold) {
+        return ReservationResponse.builder()
+                .sessionId(hold.getSessionId())
+                .categoryId(hold.getCategoryId())
+                .quantity(hold.getQuantity())
+                .ticketCodes(List.of())
+                .seats(hold.seatLabels())
+                .reservedAt(hold.getCreatedAt())
+                .expiresAt(hold.getExpiresAt())
                 .message("Biletler geçici olarak rezerve edildi.")
                 .build();
     }
 
+    /**
+     * Satışı onayla: rezervasyonları tek statement'ta sil, kategori sayaçlarını
+     * kategori başına tek güncelleme ile taşı, biletleri toplu oluştur.
+     * Havuz modundaki rezervasyonların biletleri zaten var, tek UPDATE ile satışa çevrilir.
+     * Bilet adedinden bağımsız olarak sabit sayıda round trip.
+     */
     @Transactional
     public List<TicketResponse> confirmSale(String sessionId, Long orderId, Long userId) {
-        List<Ticket> reservedTickets = ticketRepository.findBySessionIdAndStatus(sessionId, TicketStatus.RESERVED);
+        List<ReservationHold> holds = reservationHoldRepository.deleteBySessionIdReturning(sessionId);
         
-        if (reservedTickets.isEmpty()) {
+        if (holds.isEmpty()) {
             throw new ResourceNotFoundException("Rezervasyon bulunamadı veya süresi dolmuş.");
         }
-
-        List<TicketResponse> responses = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-
-        reservedTickets.stream()
-                .collect(Collectors.groupingBy(Ticket::getCategory))
-                .forEach((category, tickets) -> {
-                    TicketCategory lockedCategory = ticketCategoryRepository.findByIdWithLock(category.getId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Category", "id", category.getId()));
-                    
-                    int quantity = tickets.size();
-                    lockedCategory.setReservedQuantity(lockedCategory.getReservedQuantity() - quantity);
-                    lockedCategory.setSoldQuantity(lockedCategory.getSoldQuantity() + quantity);
-                    lockedCategory.setUpdatedAt(now);
-                    ticketCategoryRepository.save(lockedCategory);
-                });
-
-        for (Ticket ticket : reservedTickets) {
-            ticket.setStatus(TicketStatus.SOLD);
-            ticket.setOrderId(orderId);
-            ticket.setUserId(userId);
-            ticket.setSoldAt(now);
-            ticket.setSessionId(null);
-            
-            Ticket saved = ticketRepository.save(ticket);
-            responses.add(toResponse(saved));
-        }
-
-        return responses;
+        return sell(holds, orderId, userId);
     }
-    
+
     /**
-     * Süresi Dolmuş Rezervasyonları Temizle (Scheduled Job)
-     * Her dakika çalışır
+     * Siparişin tüm rezervasyonlarını tek transaction'da onayla. Silme, sayaç güncellemeleri ve
+     * bilet eklemeleri session sayısından bağımsız olarak confirmSale ile aynı sayıda statement'tır.
+     * Rezervasyonu bulunamayan session'lar hata vermez, yanıtta ayrıca döner.
      */
-    @Scheduled(fixedRate = 60000)
     @Transactional
-    public void releaseExpiredReservations() {
-        LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(15);
-        
-        List<Ticket> expiredTickets = ticketRepository.findExpiredReservations(expirationTime);
-        
-        if (expiredTickets.isEmpty()) {
-            return;
+    public SaleConfirmationBatchResponse confirmSaleBatch(List<String> sessionIds, Long orderId, Long userId) {
+        Set<String> requested = new LinkedHashSet<>(sessionIds);
+        List<ReservationHold> holds = reservationHoldRepository.deleteBySessionIdsReturning(requested);
+
+        Set<String> found = holds.stream().map(ReservationHold::getSessionId).collect(Collectors.toSet());
+        List<String> missing = requested.stream().filter(sessionId -> !found.contains(sessionId)).toList();
+        if (!missing.isEmpty()) {
+            log.warn("Sipariş {} için {} rezervasyon bulunamadı: {}", orderId, missing.size(), missing);
         }
 
-        log.info("{} adet süresi dolmuş rezervasyon temizleniyor...", expiredTickets.size());
-        
-        expiredTickets.stream()
-                .collect(Collectors.groupingBy(Ticket::getCategory))
-                .forEach((category, tickets) -> {
-                    // Kategori stokunu güncelle
-                    try {
-                        TicketCategory lockedCategory = ticketCategoryRepository.findByIdWithLock(category.getId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", category.getId()));
-                        
-                        // Negatif stok kontrolü (güvenlik için)
-                        int quantityToRelease = tickets.size();
-                        if (lockedCategory.getReservedQuantity() >= quantityToRelease) {
-                            lockedCategory.setReservedQuantity(lockedCategory.getReservedQuantity() - quantityToRelease);
-                        } else {
-                            lockedCategory.setReservedQuantity(0);
-                            log.warn("Kategori ID {} için reserved stok tutarsızlığı tespit edildi!", category.getId());
-                        }
-                        
-                        lockedCategory.setUpdatedAt(LocalDateTime.now());
-                        ticketCategoryRepository.save(lockedCategory);
-                    } catch (Exception e) {
-                        log.error("Expired rezervasyon temizlenirken hata: {}", e.getMessage());
-                    }
-                });
+        return SaleConfirmationBatchResponse.builder()
+                .tickets(holds.isEmpty() ? List.of() : sell(holds, orderId, userId))
+                .missingSessionIds(missing)
+                .build();
+    }
 
-        // Biletleri veritabanından sil (Stok geri döndü)
-        ticketRepository.deleteAll(expiredTickets);
-        log.info("Temizleme tamamlandı.");
+    private List<TicketResponse> sell(List<ReservationHold> holds, Long orderId, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> pooled = ticketRepository.sellClaimed(holdIds(holds), orderId, userId, now);
+        Set<Long> pooledHolds = pooled.stream().map(Ticket::getHoldId).collect(Collectors.toSet());
+        List<ReservationHold> counted = holds.stream()
+                .filter(hold -> !pooledHolds.contains(hold.getId()))
+                .toList();
+
+        // Sayaçlar kategori başına tek güncelleme; defter ve outbox kayıtları session başına
+        sumByCategoryAndSession(counted).forEach((categoryId, sessions) -> {
+            int quantity = sessions.values().stream().mapToInt(Integer::intValue).sum();
+            if (inventoryLedger.isEnabled()) {
+                sessions.forEach((sessionId, sessionQuantity) ->
+                        inventoryLedger.confirm(categoryId, sessionQuantity, sessionId, orderId));
+            } else if (ticketCategoryRepository.confirmSale(categoryId, quantity) == 0) {
+                log.warn("Kategori ID {} için reserved stok tutarsızlığı tespit edildi!", categoryId);
+                ticketCategoryRepository.confirmSaleClampingReserved(categoryId, quantity);
+            }
+            availabilityCache.markChanged(categoryId);
+        });
+
+        pooled.stream()
+                .map(ticket -> ticket.getCategory().getId())
+                .distinct()
+                .forEach(ticketPoolService::markDirtyAfterCommit);
+        sumByCategoryAndSession(holds).forEach((categoryId, sessions) ->
+                sessions.forEach((sessionId, quantity) -> inventoryOutbox.sold(categoryId, quantity, sessionId, orderId)));
+
+        List<Ticket> tickets = new ArrayList<>();
+        for (ReservationHold hold : counted) {
+            TicketCategory category = ticketCategoryRepository.getReferenceById(hold.getCategoryId());
+            List<String> seats = hold.seatLabels();
+            for (int i = 0; i < hold.getQuantity(); i++) {
+                tickets.add(Ticket.builder()
+                        .category(category)
+                        .seatInfo(i < seats.size() ? seats.get(i) : null)
+                        .status(TicketStatus.SOLD)
+                        .orderId(orderId)
+                        .userId(userId)
+                        .reservedAt(hold.getCreatedAt())
+                        .soldAt(now)
+                        .build());
+            }
+        }
+
+        List<Ticket> sold = new ArrayList<>(pooled);
+        sold.addAll(ticketRepository.saveAll(tickets));
+        return sold.stream()
+                .map(this::toResponse)
+                .toList();
     }
     
     /**
@@ -159,27 +409,62 @@ public class TicketService {
      */
     @Transactional
     public void cancelReservation(String sessionId) {
-         List<Ticket> reservedTickets = ticketRepository.findBySessionIdAndStatus(sessionId, TicketStatus.RESERVED);
-         
-         if (reservedTickets.isEmpty()) {
+         List<ReservationHold> holds = reservationHoldRepository.deleteBySessionIdReturning(sessionId);
+         if (holds.isEmpty()) {
              return;
          }
-         
-         reservedTickets.stream()
-                .collect(Collectors.groupingBy(Ticket::getCategory))
-                .forEach((category, tickets) -> {
-                    TicketCategory lockedCategory = ticketCategoryRepository.findByIdWithLock(category.getId())
-                            .orElseThrow();
-                    
-                    lockedCategory.setReservedQuantity(lockedCategory.getReservedQuantity() - tickets.size());
-                    ticketCategoryRepository.save(lockedCategory);
-                });
-         
-         ticketRepository.deleteAll(reservedTickets);
+         seatMapService.release(seatsByCategory(holds));
+         Map<Long, Integer> pooled = ticketPoolService.revert(holdIds(holds));
+
+         sumByCategory(holds).forEach((categoryId, quantity) -> {
+             int counted = quantity - pooled.getOrDefault(categoryId, 0);
+             if (counted > 0 && inventoryLedger.isEnabled()) {
+                 inventoryLedger.cancel(categoryId, counted, sessionId);
+             } else if (counted > 0 && ticketCategoryRepository.decrementReserved(categoryId, counted) == 0) {
+                 log.warn("Kategori ID {} için reserved stok tutarsızlığı tespit edildi!", categoryId);
+             }
+             inventoryGate.releaseAfterCommit(categoryId, quantity);
+             availabilityCache.markChanged(categoryId);
+             soldOutTracker.releasedAfterCommit(categoryId);
+             inventoryOutbox.released(categoryId, quantity, sessionId);
+         });
+    }
+
+    /**
+     * Kategori başına toplam adet, kategori ID sırasıyla (kategori satırları bu sırayla kilitlenir)
+     */
+    static Map<Long, Integer> sumByCategory(List<ReservationHold> holds) {
+        return holds.stream()
+                .collect(Collectors.groupingBy(ReservationHold::getCategoryId, TreeMap::new,
+                        Collectors.summingInt(ReservationHold::getQuantity)));
+    }
+
+    /**
+     * Kategori (ID sırasıyla) ve session başına toplam adet
+     */
+    static Map<Long, Map<String, Integer>> sumByCategoryAndSession(List<ReservationHold> holds) {
+        return holds.stream()
+                .collect(Collectors.groupingBy(ReservationHold::getCategoryId, TreeMap::new,
+                        Collectors.groupingBy(ReservationHold::getSessionId, TreeMap::new,
+                                Collectors.summingInt(ReservationHold::getQuantity))));
+    }
+
+    static Map<Long, List<String>> seatsByCategory(List<ReservationHold> holds) {
+        return holds.stream()
+                .filter(hold -> !hold.seatLabels().isEmpty())
+                .collect(Collectors.groupingBy(ReservationHold::getCategoryId,
+                        Collectors.flatMapping(hold -> hold.seatLabels().stream(), Collectors.toList())));
+    }
+
+    static List<Long> holdIds(List<ReservationHold> holds) {
+        return holds.stream().map(ReservationHold::getId).toList();
     }
     
-    public List<TicketCategory> getCategoriesByEvent(String eventId) {
-        return ticketCategoryRepository.findByEventIdAndStatus(eventId, CategoryStatus.AVAILABLE);
+    /**
+     * Etkinlik sayfası: satıştaki kategoriler, bellekteki müsaitlik görüntüsünden
+     */
+    public List<CategoryAvailabilityResponse> getCategoriesByEvent(String eventId) {
+        return availabilityCache.get(eventId);
     }
 
     /**
@@ -193,19 +478,39 @@ public class TicketService {
             return List.of();
         }
         
-        return ticketRepository.findByCategoryIdInAndStatus(categoryIds, TicketStatus.SOLD)
-                .stream()
-                .map(this::toResponse)
+        return ticketRepository.findResponsesByCategoryIdInAndStatus(categoryIds, TicketStatus.SOLD);
+    }
+
+    /**
+     * CheckInService için: Bir event'in SOLD biletlerini keyset sayfalarıyla sırayla ver.
+     * Her sayfa ayrı bir sorgudur; bellek kullanımı etkinlik büyüklüğünden bağımsızdır.
+     */
+    public void forEachSoldTicketPage(String eventId, Consumer<List<TicketExportRow>> pageConsumer) {
+        List<Long> categoryIds = ticketCategoryRepository.findByEventId(eventId).stream()
+                .map(TicketCategory::getId)
                 .toList();
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+
+        Pageable page = PageRequest.of(0, exportPageSize);
+        long afterId = 0;
+        List<TicketExportRow> rows;
+        do {
+            rows = ticketRepository.findExportPage(categoryIds, TicketStatus.SOLD, afterId, page);
+            if (!rows.isEmpty()) {
+                pageConsumer.accept(rows);
+                afterId = rows.getLast().getId();
+            }
+        } while (rows.size() == exportPageSize);
     }
 
     /**
      * CheckInService için: Bilet koduna göre bilet bul
      */
     public TicketResponse getTicketByCode(String ticketCode) {
-        Ticket ticket = ticketRepository.findByTicketCode(ticketCode)
+        return ticketRepository.findResponseByTicketCode(ticketCode)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", "code", ticketCode));
-        return toResponse(ticket);
     }
 
     /**
@@ -219,14 +524,19 @@ public class TicketService {
         ticket.setStatus(TicketStatus.USED);
         ticket.setUsedAt(LocalDateTime.now());
         ticketRepository.save(ticket);
+        inventoryOutbox.checkedIn(ticket.getCategory().getId(), ticketCode);
         
         log.info("Ticket checked in: {}", ticketCode);
     }
 
-    public List<TicketResponse> getMyTickets(Long userId) {
-        return ticketRepository.findByUserId(userId).stream()
-                .map(this::toResponse)
-                .toList();
+    /**
+     * Kullanıcının biletleri, yeniden eskiye. cursor bir önceki sayfanın son bilet ID'si (ilk sayfa için null).
+     */
+    @Transactional(readOnly = true)
+    public List<TicketResponse> getMyTickets(Long userId, Long cursor, int size) {
+        return ticketRepository.findResponsesByUserId(userId,
+                cursor != null ? cursor : Long.MAX_VALUE,
+                PageRequest.of(0, size));
     }
 
     private TicketResponse toResponse(Ticket ticket) {
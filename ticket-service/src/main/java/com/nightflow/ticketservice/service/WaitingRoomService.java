@@ -0,0 +1,464 @@
+package com.nightflow.ticketservice.service;
+
+import com.nightflow.ticketservice.client.EventServiceClient;
+import com.nightflow.ticketservice.dto.EventResponse;
+import com.nightflow.ticketservice.dto.QueueStatusResponse;
+import com.nightflow.ticketservice.exception.QueueAdmissionRequiredException;
+import com.nightflow.ticketservice.repository.TicketCategoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sanal bekleme odası (virtual waiting room).
+ *
+ * Yoğun bir etkinlik için oda açıldığında kullanıcılar sıraya girip bir token
+ * alır. Sıradakiler, ticket-service'in ölçülen rezervasyon kapasitesine göre
+ * ayarlanan bir hızla kabul edilir. Oda açıkken kabul token'ı olmayan
+ * rezervasyonlar veritabanına ulaşmadan 429 + Retry-After ile reddedilir.
+ *
+ * Token sıraya giren kullanıcıya (X-User-Id) bağlıdır, başka kullanıcı kullanamaz.
+ * Kullanıcı başına tek sıra kaydı vardır; tekrar join aynı token'ı döner. Kabul
+ * edilen token en fazla reservations-per-admission başarılı rezervasyon için geçerlidir.
+ *
+ * Sıra, kabul edilen token'lar ve throughput sayaçları Redis'te tutulur; tüm
+ * instance'lar aynı sırayı görür. Redis erişilemezse oda kapalı kabul edilir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+    private static final String KEY_PREFIX = "waiting-room:event:";
+    private static final String ACTIVE_EVENTS_KEY = "waiting-room:active-events";
+    private static final String THROUGHPUT_PREFIX = "waiting-room:throughput:";
+
+    /**
+     * KEYS[1] = sıra (zset), KEYS[2] = sıra numarası, KEYS[3] = kullanıcı -> token (hash),
+     * KEYS[4] = sıradaki token -> kullanıcı (hash)
+     * ARGV[1] = yeni token, ARGV[2] = kullanıcı, ARGV[3] = kabul anahtarı öneki
+     * Kullanıcının sırada bekleyen ya da hakkı kalmış kabul edilmiş token'ı varsa onu,
+     * yoksa sıranın sonuna eklenen yeni token'ı döndürür.
+     */
+    private static final RedisScript<String> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            local existing = redis.call('HGET', KEYS[3], ARGV[2])
+            if existing then
+                if redis.call('ZSCORE', KEYS[1], existing) then
+                    return existing
+                end
+                local left = tonumber(redis.call('HGET', ARGV[3] .. existing, 'left'))
+                if left and left > 0 then
+                    return existing
+                end
+            end
+            local seq = redis.call('INCR', KEYS[2])
+            redis.call('ZADD', KEYS[1], seq, ARGV[1])
+            redis.call('HSET', KEYS[3], ARGV[2], ARGV[1])
+            redis.call('HSET', KEYS[4], ARGV[1], ARGV[2])
+            return ARGV[1]
+            """, String.class);
+
+    /**
+     * KEYS[1] = sıra (zset), KEYS[2] = son kabul zamanı, KEYS[3] = sıradaki token -> kullanıcı (hash)
+     * ARGV[1] = şimdi (ms), ARGV[2] = saniyedeki kabul, ARGV[3] = tur başına en fazla,
+     * ARGV[4] = kabul anahtarı öneki, ARGV[5] = kabul süresi (sn), ARGV[6] = kabul başına rezervasyon
+     * Son kabulden bu yana geçen süreye göre sıranın başından token kabul eder.
+     * Kabul anahtarı bir hash'tir: user = token'ın sahibi, left = kalan rezervasyon hakkı.
+     */
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local last = tonumber(redis.call('GET', KEYS[2]))
+            if not last then
+                redis.call('SET', KEYS[2], now)
+                return 0
+            end
+            local allowed = math.min(math.floor((now - last) * tonumber(ARGV[2]) / 1000), tonumber(ARGV[3]))
+            if allowed < 1 then
+                return 0
+            end
+            redis.call('SET', KEYS[2], now)
+            local tokens = redis.call('ZRANGE', KEYS[1], 0, allowed - 1)
+            if #tokens == 0 then
+                return 0
+            end
+            for _, token in ipairs(tokens) do
+                local key = ARGV[4] .. token
+                redis.call('HSET', key, 'user', redis.call('HGET', KEYS[3], token) or '', 'left', ARGV[6])
+                redis.call('EXPIRE', key, ARGV[5])
+            end
+            redis.call('ZREM', KEYS[1], unpack(tokens))
+            redis.call('HDEL', KEYS[3], unpack(tokens))
+            return #tokens
+            """, Long.class);
+
+    /**
+     * KEYS[1] = oda açık bayrağı, KEYS[2] = kabul (hash); ARGV[1] = kullanıcı
+     * Oda kapalıysa 0. Token bu kullanıcıya aitse ve hakkı kalmışsa bir hak düşer, 1.
+     * Aksi halde -1.
+     */
+    private static final RedisScript<Long> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            if redis.call('HGET', KEYS[2], 'user') ~= ARGV[1] then
+                return -1
+            end
+            if tonumber(redis.call('HGET', KEYS[2], 'left') or '0') < 1 then
+                return -1
+            end
+            redis.call('HINCRBY', KEYS[2], 'left', -1)
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] = kabul (hash). Süresi dolmamışsa düşülen hakkı geri ver.
+     */
+    private static final RedisScript<Long> REFUND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('HINCRBY', KEYS[1], 'left', 1)
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TicketCategoryRepository ticketCategoryRepository;
+    private final EventServiceClient eventServiceClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${waiting-room.enabled:false}")
+    private boolean enabled;
+
+    // Kabul edilen token'ın rezervasyon için geçerli kaldığı süre
+    @Value("${waiting-room.admission-ttl-seconds:600}")
+    private long admissionTtlSeconds;
+
+    // Kabul edilen token ile yapılabilecek başarılı rezervasyon (sepete her ekleme bir rezervasyondur)
+    @Value("${waiting-room.reservations-per-admission:5}")
+    private int reservationsPerAdmission;
+
+    @Value("${waiting-room.min-rate-per-second:20}")
+    private double minRatePerSecond;
+
+    @Value("${waiting-room.max-rate-per-second:1000}")
+    private double maxRatePerSecond;
+
+    // Ölçülen throughput'un üzerine eklenen pay; kapasite dolana kadar hız kademeli artar
+    @Value("${waiting-room.headroom:1.2}")
+    private double headroom;
+
+    @Value("${waiting-room.throughput-window-seconds:10}")
+    private int throughputWindowSeconds;
+
+    @Value("${waiting-room.max-admit-per-tick:500}")
+    private int maxAdmitPerTick;
+
+    private final Map<Long, String> eventIdsByCategory = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+    private final AtomicLong pendingReservations = new AtomicLong();
+    private volatile double admissionRate;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        admissionRate = minRatePerSecond;
+        Gauge.builder("waiting.room.admission.rate", this, service -> service.admissionRate)
+                .description("Bekleme odasından saniyede kabul edilen kullanıcı")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("waiting.room.rejected")
+                .description("Kabul token'ı olmadığı için reddedilen rezervasyonlar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Etkinlik için bekleme odasını aç (sadece etkinlik sahibi)
+     */
+    public void open(String eventId, String organizerId) {
+        verifyOwnership(eventId, organizerId);
+        redisTemplate.opsForValue().set(key(eventId, "active"), "1");
+        redisTemplate.opsForSet().add(ACTIVE_EVENTS_KEY, eventId);
+        log.info("Etkinlik {} için bekleme odası açıldı", eventId);
+    }
+
+    /**
+     * Bekleme odasını kapat; sıradakiler serbestçe rezervasyon yapabilir
+     */
+    public void close(String eventId, String organizerId) {
+        verifyOwnership(eventId, organizerId);
+        redisTemplate.opsForSet().remove(ACTIVE_EVENTS_KEY, eventId);
+        redisTemplate.delete(List.of(key(eventId, "active"), key(eventId, "queue"),
+                key(eventId, "seq"), key(eventId, "last-admit"),
+                key(eventId, "user-tokens"), key(eventId, "token-users")));
+        depthOf(eventId).set(0);
+        log.info("Etkinlik {} için bekleme odası kapatıldı", eventId);
+    }
+
+    /**
+     * Sıraya gir. Oda kapalıysa token hemen kabul edilmiş sayılır.
+     * Kullanıcının sırada ya da kullanılabilir durumda token'ı varsa aynı token döner.
+     */
+    public QueueStatusResponse join(String eventId, String userId) {
+        String token = UUID.randomUUID().toString();
+        if (!enabled || !isActive(eventId)) {
+            return admitted(eventId, token);
+        }
+        String current = redisTemplate.execute(JOIN_SCRIPT,
+                List.of(key(eventId, "queue"), key(eventId, "seq"),
+                        key(eventId, "user-tokens"), key(eventId, "token-users")),
+                token, userId, key(eventId, "admitted:"));
+        return status(eventId, current != null ? current : token);
+    }
+
+    /**
+     * Token'ın sıradaki durumu
+     */
+    public QueueStatusResponse status(String eventId, String token) {
+        if (!enabled || !isActive(eventId) || Boolean.TRUE.equals(redisTemplate.hasKey(admittedKey(eventId, token)))) {
+            return admitted(eventId, token);
+        }
+        Long rank = redisTemplate.opsForZSet().rank(key(eventId, "queue"), token);
+        if (rank == null) {
+            return QueueStatusResponse.builder()
+                    .eventId(eventId)
+                    .token(token)
+                    .status(QueueStatusResponse.Status.UNKNOWN)
+                    .build();
+        }
+        return waiting(eventId, token, rank + 1);
+    }
+
+    /**
+     * Rezervasyondan önce: kategorilerin etkinliklerinde oda açıksa kullanıcının kabul
+     * edilmiş token'ını iste ve etkinlik başına bir rezervasyon hakkı düş.
+     * Rezervasyon başarısız olursa düşülen haklar refund ile geri verilmeli.
+     */
+    public Admission checkAdmission(Collection<Long> categoryIds, String token, String userId) {
+        if (!enabled) {
+            return Admission.NONE;
+        }
+        // Bilinmeyen kategori, rezervasyon 404 alır
+        List<String> eventIds = categoryIds.stream()
+                .map(this::eventIdOf)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        List<String> taken = new ArrayList<>();
+        for (String eventId : eventIds) {
+            long result;
+            try {
+                result = take(eventId, token, userId);
+            } catch (Exception e) {
+                log.warn("Bekleme odası kontrol edilemedi, istek kabul ediliyor: {}", e.getMessage());
+                continue;
+            }
+            if (result > 0) {
+                taken.add(eventId);
+            } else if (result < 0) {
+                refund(new Admission(token, taken));
+                rejectedCounter.increment();
+                throw new QueueAdmissionRequiredException("Bu etkinlik için bekleme odasından sıra almanız gerekiyor.",
+                        retryAfterSeconds(depthOf(eventId).get()));
+            }
+        }
+        return taken.isEmpty() ? Admission.NONE : new Admission(token, taken);
+    }
+
+    /**
+     * Başarısız rezervasyonun düştüğü hakları geri ver
+     */
+    public void refund(Admission admission) {
+        for (String eventId : admission.eventIds()) {
+            try {
+                redisTemplate.execute(REFUND_SCRIPT, List.of(admittedKey(eventId, admission.token())));
+            } catch (Exception e) {
+                log.warn("Bekleme odası rezervasyon hakkı geri verilemedi: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 0 = oda kapalı, 1 = hak düşüldü, -1 = reddedildi
+     */
+    private long take(String eventId, String token, String userId) {
+        if (token == null || userId == null) {
+            return isActive(eventId) ? -1 : 0;
+        }
+        Long result = redisTemplate.execute(TAKE_SCRIPT,
+                List.of(key(eventId, "active"), admittedKey(eventId, token)), userId);
+        return result != null ? result : 0;
+    }
+
+    /**
+     * Tamamlanan rezervasyonu say (kabul hızı bu ölçüme göre ayarlanır)
+     */
+    public void recordReservation() {
+        if (enabled) {
+            pendingReservations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Throughput'u Redis'e yaz, kabul hızını güncelle ve açık odalardan kullanıcı kabul et
+     */
+    @Scheduled(fixedDelayString = "${waiting-room.admit-interval-ms:200}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long nowMs = System.currentTimeMillis();
+            flushThroughput(nowMs / 1000);
+            updateAdmissionRate(nowMs / 1000);
+
+            Set<String> events = redisTemplate.opsForSet().members(ACTIVE_EVENTS_KEY);
+            if (events == null || events.isEmpty()) {
+                return;
+            }
+            double ratePerEvent = admissionRate / events.size();
+            for (String eventId : events) {
+                admit(eventId, nowMs, ratePerEvent);
+            }
+        } catch (Exception e) {
+            log.warn("Bekleme odası turu başarısız: {}", e.getMessage());
+        }
+    }
+
+    private void admit(String eventId, long nowMs, double rate) {
+        Long admitted = redisTemplate.execute(ADMIT_SCRIPT,
+                List.of(key(eventId, "queue"), key(eventId, "last-admit"), key(eventId, "token-users")),
+                String.valueOf(nowMs), String.valueOf(rate), String.valueOf(maxAdmitPerTick),
+                key(eventId, "admitted:"), String.valueOf(admissionTtlSeconds),
+                String.valueOf(reservationsPerAdmission));
+        if (admitted != null && admitted > 0) {
+            meterRegistry.counter("waiting.room.admitted", "event", eventId).increment(admitted);
+        }
+        Long depth = redisTemplate.opsForZSet().zCard(key(eventId, "queue"));
+        depthOf(eventId).set(depth != null ? depth : 0);
+    }
+
+    private void flushThroughput(long epochSecond) {
+        long count = pendingReservations.getAndSet(0);
+        if (count == 0) {
+            return;
+        }
+        String key = THROUGHPUT_PREFIX + epochSecond;
+        redisTemplate.opsForValue().increment(key, count);
+        redisTemplate.expire(key, Duration.ofSeconds(throughputWindowSeconds * 2L));
+    }
+
+    /**
+     * Kabul hızı = son pencerede tüm instance'ların tamamladığı rezervasyon/sn * pay.
+     * Servis kapasitesine ulaşınca throughput artmaz, hız da kapasitenin biraz üzerinde sabitlenir.
+     */
+    private void updateAdmissionRate(long epochSecond) {
+        List<String> keys = new ArrayList<>(throughputWindowSeconds);
+        for (int i = 1; i <= throughputWindowSeconds; i++) {
+            keys.add(THROUGHPUT_PREFIX + (epochSecond - i));
+        }
+        List<String> counts = redisTemplate.opsForValue().multiGet(keys);
+        long total = 0;
+        if (counts != null) {
+            for (String count : counts) {
+                if (count != null) {
+                    total += Long.parseLong(count);
+                }
+            }
+        }
+        double measured = (double) total / throughputWindowSeconds;
+        admissionRate = Math.max(minRatePerSecond, Math.min(maxRatePerSecond, measured * headroom));
+    }
+
+    private boolean isActive(String eventId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(eventId, "active")));
+    }
+
+    private String eventIdOf(Long categoryId) {
+        String eventId = eventIdsByCategory.get(categoryId);
+        if (eventId == null) {
+            eventId = ticketCategoryRepository.findEventIdById(categoryId).orElse(null);
+            if (eventId != null) {
+                eventIdsByCategory.put(categoryId, eventId);
+            }
+        }
+        return eventId;
+    }
+
+    private AtomicLong depthOf(String eventId) {
+        return queueDepths.computeIfAbsent(eventId, id -> {
+            AtomicLong depth = new AtomicLong();
+            Gauge.builder("waiting.room.queue.depth", depth, AtomicLong::get)
+                    .description("Bekleme odasında sırada bekleyen kullanıcı")
+                    .tag("event", id)
+                    .register(meterRegistry);
+            return depth;
+        });
+    }
+
+    private QueueStatusResponse waiting(String eventId, String token, long position) {
+        return QueueStatusResponse.builder()
+                .eventId(eventId)
+                .token(token)
+                .status(QueueStatusResponse.Status.WAITING)
+                .position(position)
+                .queueDepth(depthOf(eventId).get())
+                .admissionRatePerSecond(admissionRate)
+                .retryAfterSeconds(retryAfterSeconds(position))
+                .build();
+    }
+
+    private QueueStatusResponse admitted(String eventId, String token) {
+        return QueueStatusResponse.builder()
+                .eventId(eventId)
+                .token(token)
+                .status(QueueStatusResponse.Status.ADMITTED)
+                .position(0L)
+                .build();
+    }
+
+    private long retryAfterSeconds(long position) {
+        return Math.max(1, (long) Math.ceil(position / Math.max(admissionRate, 1)));
+    }
+
+    private void verifyOwnership(String eventId, String organizerId) {
+        EventResponse event = eventServiceClient.getEvent(eventId);
+        if (!event.getOrganizerId().equals(organizerId)) {
+            throw new RuntimeException("Bu etkinliğin bekleme odasını yönetme yetkiniz yok.");
+        }
+    }
+
+    private String admittedKey(String eventId, String token) {
+        return key(eventId, "admitted:" + token);
+    }
+
+    private String key(String eventId, String suffix) {
+        return KEY_PREFIX + eventId + ":" + suffix;
+    }
+
+    /**
+     * Rezervasyon için hak düşülen etkinlikler (oda kapalıysa boş)
+     */
+    public record Admission(String token, List<String> eventIds) {
+
+        static final Admission NONE = new Admission(null, List.of());
+    }
+}
@@ -0,0 +1,6 @@
+-- V3'teki RESERVED bilet indeksleri yalnızca kaldırılan session/süre aşımı bulucularına hizmet ediyordu
+-- (rezervasyonlar reservation_holds'ta). Sıcak tickets_live_open bölümüne yazma maliyeti ekledikleri için
+-- kaldırılır; havuz modunun hold_id indeksi (idx_tickets_hold_id) kalır.
+
+DROP INDEX IF EXISTS idx_tickets_session_reserved;
+DROP INDEX IF EXISTS idx_tickets_reserved_at;
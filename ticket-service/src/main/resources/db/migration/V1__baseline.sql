@@ -0,0 +1,77 @@
+-- Şemanın ddl-auto ile oluşturulduğu son hali. Mevcut veritabanlarında (baseline-on-migrate, sürüm 0)
+-- var olan tablolar IF NOT EXISTS ile atlanır; ddl-auto döneminde sonradan eklenen sütunlar dosyanın
+-- sonunda tamamlanır. Eski IDENTITY id'leri dolu tablolarda sequence'ler 1'den başlar; V9 onları
+-- mevcut id'lerin üstüne taşır.
+
+CREATE SEQUENCE IF NOT EXISTS ticket_category_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ticket_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservation_hold_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS ticket_categories (
+    id                bigint         NOT NULL PRIMARY KEY,
+    event_id          varchar(255)   NOT NULL,
+    name              varchar(255)   NOT NULL,
+    description       varchar(255),
+    price             numeric(10, 2) NOT NULL,
+    total_quantity    integer        NOT NULL,
+    sold_quantity     integer,
+    reserved_quantity integer,
+    status            varchar(255),
+    inventory_mode    varchar(255),
+    sales_start_at    timestamp(6),
+    sales_end_at      timestamp(6),
+    created_at        timestamp(6),
+    updated_at        timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS tickets (
+    id          bigint       NOT NULL PRIMARY KEY,
+    ticket_code varchar(255) NOT NULL,
+    category_id bigint       NOT NULL,
+    order_id    bigint,
+    user_id     bigint,
+    seat_info   varchar(255),
+    status      varchar(255),
+    session_id  varchar(255),
+    hold_id     bigint,
+    reserved_at timestamp(6),
+    sold_at     timestamp(6),
+    used_at     timestamp(6),
+    archived    boolean      NOT NULL DEFAULT false,
+    created_at  timestamp(6),
+    CONSTRAINT fk_tickets_category FOREIGN KEY (category_id) REFERENCES ticket_categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS reservation_holds (
+    id          bigint       NOT NULL PRIMARY KEY,
+    category_id bigint       NOT NULL,
+    session_id  varchar(255) NOT NULL,
+    quantity    integer      NOT NULL,
+    seats       varchar(2000),
+    expires_at  timestamp(6) NOT NULL,
+    created_at  timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_leases (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_id          bigint       NOT NULL,
+    owner_id             varchar(255) NOT NULL,
+    granted_quantity     integer      NOT NULL,
+    reclaimable_quantity integer      NOT NULL,
+    expires_at           timestamp(6) NOT NULL,
+    created_at           timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS seat_maps (
+    category_id   bigint  NOT NULL PRIMARY KEY,
+    seat_rows     integer NOT NULL,
+    seats_per_row integer NOT NULL,
+    taken_seats   bytea   NOT NULL,
+    version       bigint,
+    updated_at    timestamp(6)
+);
+
+-- İlk sürümden (IDENTITY id'li şema) gelen veritabanlarında eksik olan sütunlar
+ALTER TABLE ticket_categories ADD COLUMN IF NOT EXISTS inventory_mode varchar(255);
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS hold_id bigint;
+ALTER TABLE reservation_holds ADD COLUMN IF NOT EXISTS seats varchar(2000);
@@ -0,0 +1,48 @@
+-- tickets tablosunu yaşam döngüsüne göre bölümlü yapıya taşır (PostgreSQL 11+):
+--
+--   tickets                    LIST (archived)
+--   ├── tickets_live           archived = false, LIST (status)
+--   │   ├── tickets_live_open    AVAILABLE, RESERVED  -> sıcak satırlar: küçük, sık vacuum
+--   │   └── tickets_live_closed  SOLD, USED, CANCELLED (DEFAULT)
+--   └── tickets_archive        archived = true       -> TicketArchiver'ın taşıdığı geçmiş etkinlik biletleri
+--
+-- Durumu değişen satırı PostgreSQL ilgili bölüme kendisi taşır; uygulama sorguları tickets üzerinden
+-- değişmeden çalışır. Bölümlü tabloda unique kısıt bölüm anahtarlarını içermek zorunda olduğundan
+-- ticket_code için normal index kullanılır (kodlar UUID). İndeksler V3'te.
+-- Büyük tabloda veri kopyalandığı için bu sürüme geçiş bakım penceresinde yapılmalı.
+
+DO $$
+BEGIN
+    -- Elle bölümlenmiş veritabanlarında tekrar çalışmaz
+    IF (SELECT relkind FROM pg_class WHERE oid = 'tickets'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE tickets RENAME TO tickets_legacy;
+    ALTER TABLE tickets_legacy ADD COLUMN IF NOT EXISTS archived boolean NOT NULL DEFAULT false;
+    ALTER TABLE tickets_legacy ALTER COLUMN archived SET DEFAULT false;
+
+    CREATE TABLE tickets (LIKE tickets_legacy INCLUDING DEFAULTS) PARTITION BY LIST (archived);
+
+    CREATE TABLE tickets_live PARTITION OF tickets
+        FOR VALUES IN (false)
+        PARTITION BY LIST (status);
+
+    CREATE TABLE tickets_live_open PARTITION OF tickets_live
+        FOR VALUES IN ('AVAILABLE', 'RESERVED')
+        WITH (fillfactor = 80, autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
+
+    CREATE TABLE tickets_live_closed PARTITION OF tickets_live DEFAULT;
+
+    CREATE TABLE tickets_archive PARTITION OF tickets
+        FOR VALUES IN (true);
+
+    INSERT INTO tickets SELECT * FROM tickets_legacy;
+
+    DROP TABLE tickets_legacy;
+
+    ALTER TABLE tickets ADD CONSTRAINT tickets_pkey PRIMARY KEY (id, archived, status);
+    ALTER TABLE tickets ADD CONSTRAINT fk_tickets_category
+        FOREIGN KEY (category_id) REFERENCES ticket_categories (id);
+END
+$$;
@@ -0,0 +1,36 @@
+-- Sıcak sorguların indeksleri; her biri QueryPlanTest'te EXPLAIN ile doğrulanır.
+-- tickets bölümlü olduğundan indeksler her bölümde ayrıca oluşur.
+
+-- Havuz sahiplenme (status = 'AVAILABLE' ORDER BY id), etkinlik bilet listesi ve keyset dışa aktarım.
+-- INCLUDE ile dışa aktarım sayfası tabloya gitmeden okunur.
+DROP INDEX IF EXISTS idx_tickets_category_status;
+CREATE INDEX idx_tickets_category_status ON tickets (category_id, status, id) INCLUDE (ticket_code, user_id);
+
+-- Havuz modunda satış onayı / iade: hold_id IN (...) AND status = 'RESERVED'
+DROP INDEX IF EXISTS idx_tickets_hold_id;
+CREATE INDEX idx_tickets_hold_id ON tickets (hold_id) WHERE status = 'RESERVED';
+
+-- Rezerve biletlerin session ve süre aşımı aramaları; sadece RESERVED satırlar indekslenir
+CREATE INDEX IF NOT EXISTS idx_tickets_session_reserved ON tickets (session_id) WHERE status = 'RESERVED';
+CREATE INDEX IF NOT EXISTS idx_tickets_reserved_at ON tickets (reserved_at) WHERE status = 'RESERVED';
+
+CREATE INDEX IF NOT EXISTS idx_tickets_user_id ON tickets (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_ticket_code ON tickets (ticket_code);
+CREATE INDEX IF NOT EXISTS idx_tickets_order_id ON tickets (order_id);
+
+-- Etkinlik sayfası müsaitliği ve kategori listesi. Sayaç sütunları INCLUDE edilmez: her rezervasyonda
+-- değiştikleri için kategori satırının HOT güncellemesini engellerlerdi.
+CREATE INDEX IF NOT EXISTS idx_ticket_categories_event_id ON ticket_categories (event_id, id);
+-- Satış öncesi ısınma taraması
+CREATE INDEX IF NOT EXISTS idx_ticket_categories_sales_start ON ticket_categories (sales_start_at);
+-- Tükenmiş kategori kümesinin yenilenmesi (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_ticket_categories_status ON ticket_categories (status, id);
+
+-- Sepet iptali / satış onayı: session_id ile silme
+CREATE INDEX IF NOT EXISTS idx_reservation_holds_session_id ON reservation_holds (session_id);
+-- Süresi dolan rezervasyon taraması (ORDER BY expires_at), tabloya gitmeden
+CREATE INDEX IF NOT EXISTS idx_reservation_holds_expires_at ON reservation_holds (expires_at) INCLUDE (id);
+
+-- Sahipsiz kiralama taraması ve tükenme kontrolündeki NOT EXISTS
+CREATE INDEX IF NOT EXISTS idx_inventory_leases_expires_at ON inventory_leases (expires_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_leases_category_id ON inventory_leases (category_id);
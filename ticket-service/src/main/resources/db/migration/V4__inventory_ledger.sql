@@ -0,0 +1,25 @@
+-- Olay kaynaklı stok defteri (inventory.ledger.enabled). Kategori sayaçları son sıkıştırmaya
+-- kadarki görüntüdür; mevcut stok = sayaçlar + compacted = false kayıtların deltaları.
+
+CREATE SEQUENCE IF NOT EXISTS inventory_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory_ledger (
+    id             bigint       NOT NULL PRIMARY KEY,
+    category_id    bigint       NOT NULL,
+    entry_type     varchar(255) NOT NULL,
+    reserved_delta integer      NOT NULL,
+    sold_delta     integer      NOT NULL,
+    total_delta    integer      NOT NULL DEFAULT 0,
+    session_id     varchar(255),
+    order_id       bigint,
+    compacted      boolean      NOT NULL DEFAULT false,
+    created_at     timestamp(6) NOT NULL
+);
+
+-- Rezervasyondaki stok kontrolü ve sıkıştırma sadece bekleyen kayıtları okur (index-only)
+CREATE INDEX IF NOT EXISTS idx_inventory_ledger_pending ON inventory_ledger (category_id)
+    INCLUDE (reserved_delta, sold_delta) WHERE NOT compacted;
+-- Denetim: kategorinin kayıtları sırayla
+CREATE INDEX IF NOT EXISTS idx_inventory_ledger_category ON inventory_ledger (category_id, id);
+-- Saklama süresi dolan kayıtların silinmesi
+CREATE INDEX IF NOT EXISTS idx_inventory_ledger_compacted_at ON inventory_ledger (created_at) WHERE compacted;
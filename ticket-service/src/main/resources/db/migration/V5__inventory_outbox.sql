@@ -0,0 +1,22 @@
+-- Stok / bilet durumu olayları (transactional outbox). Değişiklikle aynı transaction'da eklenir,
+-- InventoryOutbox relay'i id sırasıyla Kafka'ya (inventory-events) gönderip published_at'i doldurur.
+
+CREATE SEQUENCE IF NOT EXISTS inventory_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inventory_outbox (
+    id           bigint       NOT NULL PRIMARY KEY,
+    event_type   varchar(255) NOT NULL,
+    event_id     varchar(255) NOT NULL,
+    category_id  bigint       NOT NULL,
+    quantity     integer,
+    session_id   varchar(255),
+    order_id     bigint,
+    ticket_code  varchar(255),
+    created_at   timestamp(6) NOT NULL,
+    published_at timestamp(6)
+);
+
+-- Relay sadece gönderilmemiş kayıtları id sırasıyla okur; gönderilenler indeksten düşer
+CREATE INDEX IF NOT EXISTS idx_inventory_outbox_unpublished ON inventory_outbox (id) WHERE published_at IS NULL;
+-- Saklama süresi dolan gönderilmiş kayıtların silinmesi
+CREATE INDEX IF NOT EXISTS idx_inventory_outbox_published_at ON inventory_outbox (published_at) WHERE published_at IS NOT NULL;
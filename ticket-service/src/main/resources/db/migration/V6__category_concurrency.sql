@@ -0,0 +1,5 @@
+-- Rezervasyon eşzamanlılık stratejisi (kategori bazında, boşsa inventory.concurrency.strategy)
+-- ve iyimser rezervasyon için sürüm sütunu. Sayaçları değiştiren her statement version'ı artırır.
+
+ALTER TABLE ticket_categories ADD COLUMN IF NOT EXISTS concurrency_strategy varchar(255);
+ALTER TABLE ticket_categories ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
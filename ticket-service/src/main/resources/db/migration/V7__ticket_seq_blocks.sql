@@ -0,0 +1,5 @@
+-- Havuz modu id'leri ticket_seq'ten Hibernate ile aynı şekilde 50'lik bloklar halinde ayırır:
+-- nextval bloğun üst sınırıdır, blok (nextval - 49 .. nextval). Hiç çağrılmamış sequence'in
+-- ilk değeri 1 olduğundan blok negatif id'lere düşmesin diye ilk değeri 50'ye çek.
+
+SELECT setval('ticket_seq', 50, false) FROM ticket_seq WHERE NOT is_called;
@@ -0,0 +1,39 @@
+-- Bilet kodu ve id tekilliği. Bölümlü tickets tablosunda unique kısıt bölüm anahtarlarını
+-- (archived, status) içermek zorunda; bu yüzden ne ticket_code ne de id tek başına tekil değildi.
+-- ticket_codes bölümsüz bir kayıt tablosudur: her bilet insert'ünde aynı transaction'da trigger ile
+-- yazılır, tekrar eden kod ya da id unique_violation ile reddedilir.
+--
+-- Durum değişikliğiyle bölüm değiştiren satır PostgreSQL'de DELETE + INSERT olarak işlenir ve
+-- AFTER INSERT trigger'ı yeniden çalışır; aynı (kod, id) çifti zaten kayıtlıysa bir şey yapılmaz.
+-- Kayıtlar silinmez: verilmiş bir kod bilet silinse de tekrar verilmez.
+-- Mevcut veride tekrar eden kod varsa migration unique_violation ile durur; önce temizlenmeli.
+
+CREATE TABLE IF NOT EXISTS ticket_codes (
+    ticket_code varchar(255) NOT NULL PRIMARY KEY,
+    ticket_id   bigint       NOT NULL UNIQUE
+);
+
+INSERT INTO ticket_codes (ticket_code, ticket_id)
+SELECT ticket_code, id FROM tickets;
+
+CREATE OR REPLACE FUNCTION register_ticket_code() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO ticket_codes (ticket_code, ticket_id)
+    VALUES (NEW.ticket_code, NEW.id)
+    ON CONFLICT (ticket_code) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (
+        SELECT 1 FROM ticket_codes WHERE ticket_code = NEW.ticket_code AND ticket_id = NEW.id
+    ) THEN
+        RAISE unique_violation
+            USING MESSAGE = format('ticket_code %s zaten kullanılıyor', NEW.ticket_code),
+                  CONSTRAINT = 'ticket_codes_pkey';
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS tickets_register_code ON tickets;
+CREATE TRIGGER tickets_register_code
+    AFTER INSERT OR UPDATE OF ticket_code, id ON tickets
+    FOR EACH ROW EXECUTE FUNCTION register_ticket_code();
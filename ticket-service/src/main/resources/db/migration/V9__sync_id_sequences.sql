@@ -0,0 +1,24 @@
+-- IDENTITY id'lerden pooled sequence'lere (allocationSize 50) geçen veritabanlarında sequence'ler
+-- 1'den başlar ve dolu tablolarda ilk insert mevcut bir id'yi tekrar kullanırdı. Hibernate nextval'i
+-- bloğun üst sınırı sayar (nextval - 49 .. nextval); her sequence ilk bloğu mevcut en büyük id'nin
+-- üstünden başlayacak şekilde 50'nin katına ilerletilir. Daha ileride olan sequence geri alınmaz.
+-- Bilet id'leri ticket_codes kaydında da tutulduğu için (V8) onun en büyük id'si de hesaba katılır.
+
+SELECT setval('ticket_category_seq',
+              GREATEST((COALESCE((SELECT max(id) FROM ticket_categories), 0) + 49) / 50 * 50 + 50,
+                       CASE WHEN is_called THEN last_value + 50 ELSE last_value END),
+              false)
+FROM ticket_category_seq;
+
+SELECT setval('ticket_seq',
+              GREATEST((GREATEST(COALESCE((SELECT max(id) FROM tickets), 0),
+                                 COALESCE((SELECT max(ticket_id) FROM ticket_codes), 0)) + 49) / 50 * 50 + 50,
+                       CASE WHEN is_called THEN last_value + 50 ELSE last_value END),
+              false)
+FROM ticket_seq;
+
+SELECT setval('reservation_hold_seq',
+              GREATEST((COALESCE((SELECT max(id) FROM reservation_holds), 0) + 49) / 50 * 50 + 50,
+                       CASE WHEN is_called THEN last_value + 50 ELSE last_value END),
+              false)
+FROM reservation_hold_seq;
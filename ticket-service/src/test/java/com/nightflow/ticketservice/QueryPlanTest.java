@@ -0,0 +1,208 @@
+package com.nightflow.ticketservice;
+
+import com.nightflow.ticketservice.entity.CategoryStatus;
+import com.nightflow.ticketservice.entity.TicketStatus;
+import com.nightflow.ticketservice.repository.*;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository sorgularının planları (db/migration indeksleri).
+ *
+ * Her repository metodu geri alınan bir transaction'da çağrılır ve Hibernate'in gönderdiği SQL
+ * StatementInspector ile yakalanır; sorgu repository'de değişirse EXPLAIN edilen SQL de değişir.
+ * Yakalanan her statement parametreleri bağlanmadan genel plan olarak (force_generic_plan) ve sıralı
+ * tarama kapatılarak EXPLAIN edilir; test veritabanındaki tablolar küçük olduğundan aksi halde
+ * planlayıcı indeks seçmezdi. Sorguyu karşılayan indeks yoksa plan yine Seq Scan içerir ve test
+ * kırılır. Bilerek tam tarama yapan sorgular (findAllDeadlines, archiveClosedTickets) listede yok.
+ * Yeni sorgu eklenince buraya da eklenir.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.nightflow.ticketservice.QueryPlanTest$SqlCapture")
+public class QueryPlanTest {
+
+    private static final AtomicInteger PLAN_IDS = new AtomicInteger();
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketCategoryRepository ticketCategoryRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private InventoryLeaseRepository inventoryLeaseRepository;
+
+    @Autowired
+    private InventoryLedgerRepository inventoryLedgerRepository;
+
+    @Autowired
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestFactory
+    public Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(1L, 2L);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        // TicketRepository
+        queries.put("findByTicketCode", () -> ticketRepository.findByTicketCode("code"));
+        queries.put("findByCategoryId", () -> ticketRepository.findByCategoryId(1L));
+        queries.put("findByCategoryIdAndStatus", () -> ticketRepository.findByCategoryIdAndStatus(1L, TicketStatus.SOLD));
+        queries.put("findResponseByTicketCode", () -> ticketRepository.findResponseByTicketCode("code"));
+        queries.put("findResponsesByCategoryIdInAndStatus",
+                () -> ticketRepository.findResponsesByCategoryIdInAndStatus(ids, TicketStatus.SOLD));
+        queries.put("findResponsesByUserId", () -> ticketRepository.findResponsesByUserId(1L, 1000L, PageRequest.of(0, 50)));
+        queries.put("findExportPage",
+                () -> ticketRepository.findExportPage(ids, TicketStatus.SOLD, 0L, PageRequest.of(0, 1000)));
+        queries.put("findByOrderId", () -> ticketRepository.findByOrderId(1L));
+        queries.put("claimAvailable", () -> ticketRepository.claimAvailable(1L, 1L, "s", now, 10));
+        queries.put("sellClaimed", () -> ticketRepository.sellClaimed(ids, 1L, 1L, now));
+        queries.put("revertClaimed", () -> ticketRepository.revertClaimed(ids));
+
+        // TicketCategoryRepository
+        queries.put("findByEventId", () -> ticketCategoryRepository.findByEventId("e"));
+        queries.put("findBySalesStartAtBetween",
+                () -> ticketCategoryRepository.findBySalesStartAtBetween(now, now.plusMinutes(5)));
+        queries.put("findAvailability", () -> ticketCategoryRepository.findAvailability("e",
+                List.of(CategoryStatus.AVAILABLE, CategoryStatus.SOLD_OUT)));
+        queries.put("reserveIfAvailable", () -> ticketCategoryRepository.reserveIfAvailable(1L, 1));
+        queries.put("syncPoolCounters", () -> ticketCategoryRepository.syncPoolCounters(ids));
+        queries.put("flipSoldOutStatus", () -> ticketCategoryRepository.flipSoldOutStatus(ids));
+        queries.put("findIdsByStatus", () -> ticketCategoryRepository.findIdsByStatus(CategoryStatus.SOLD_OUT));
+        queries.put("lockStockById", () -> ticketCategoryRepository.lockStockById(1L));
+        queries.put("reserveIfVersion", () -> ticketCategoryRepository.reserveIfVersion(1L, 1, 3L));
+
+        // ReservationHoldRepository
+        queries.put("deleteBySessionIdReturning", () -> reservationHoldRepository.deleteBySessionIdReturning("s"));
+        queries.put("deleteBySessionIdsReturning",
+                () -> reservationHoldRepository.deleteBySessionIdsReturning(List.of("s1", "s2")));
+        queries.put("findExpiredIds", () -> reservationHoldRepository.findExpiredIds(now, PageRequest.of(0, 100)));
+        queries.put("deleteExpired", () -> reservationHoldRepository.deleteExpired(ids, now));
+
+        // InventoryLeaseRepository
+        queries.put("findOrphaned", () -> inventoryLeaseRepository.findOrphaned(now));
+
+        // InventoryLedgerRepository
+        queries.put("reserveIfAvailable (ledger)", () -> inventoryLedgerRepository.reserveIfAvailable(1L, 1, "s"));
+        queries.put("findCategoriesWithPendingEntries", () -> inventoryLedgerRepository.findCategoriesWithPendingEntries());
+        queries.put("compact", () -> inventoryLedgerRepository.compact(1L));
+        queries.put("purgeCompacted", () -> inventoryLedgerRepository.purgeCompacted(now, 1000));
+
+        // InventoryOutboxRepository
+        queries.put("findUnpublished", () -> inventoryOutboxRepository.findUnpublished(PageRequest.of(0, 500)));
+        queries.put("markPublished", () -> inventoryOutboxRepository.markPublished(ids, now));
+        queries.put("purgePublished", () -> inventoryOutboxRepository.purgePublished(now, 1000));
+
+        return queries.entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertUsesIndexes(query.getKey(), query.getValue())));
+    }
+
+    private void assertUsesIndexes(String query, Runnable call) {
+        List<String> statements = capture(call);
+        assertFalse(statements.isEmpty(), () -> query + " SQL göndermedi");
+
+        for (String sql : statements) {
+            List<String> plan = explain(sql);
+            assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")),
+                    () -> query + " sıralı tarama yapıyor:\n" + sql + "\n" + String.join("\n", plan));
+        }
+    }
+
+    /**
+     * Repository çağrısının gönderdiği SQL'ler; transaction geri alınır
+     */
+    private List<String> capture(Runnable call) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            SqlCapture.start();
+            try {
+                call.run();
+                return SqlCapture.statements();
+            } finally {
+                SqlCapture.stop();
+            }
+        });
+    }
+
+    /**
+     * JDBC parametreleri (?) $n'e çevrilip PREPARE edilir; tipler sorgudan çıkarılır, değerler
+     * genel planda kullanılmadığı için NULL verilir
+     */
+    private List<String> explain(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        String name = "query_plan_" + PLAN_IDS.incrementAndGet();
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE " + name + " AS " + prepared);
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN EXECUTE " + name + arguments, String.class);
+            jdbcTemplate.execute("DEALLOCATE " + name);
+            return plan;
+        });
+    }
+
+    /**
+     * Hibernate'in gönderdiği SQL'leri test thread'i için toplar (zamanlanmış işlerinkini değil)
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void start() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS.get());
+        }
+
+        static void stop() {
+            STATEMENTS.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.nightflow.ticketservice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Okuma replikası yönlendirmesi, tek veritabanı ve iki havuzla: replika URL'si primary ile aynı,
+ * hangi havuzun kullanıldığı bağlantının application_name'inden anlaşılır.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica-routing.enabled=true",
+        "datasource.replica-routing.urls=${spring.datasource.url}",
+        "datasource.replica-routing.read-your-writes-ms=60000"
+})
+public class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "ticket-service-primary";
+    private static final String REPLICA = "ticket-service-replica-0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void readOnlyTransactionsUseReplica() {
+        assertEquals(REPLICA, connectionName(true));
+        assertEquals(PRIMARY, connectionName(false));
+    }
+
+    @Test
+    public void userReadsOwnWritesFromPrimary() {
+        String writer = "replica-test-" + UUID.randomUUID();
+        actAs(writer);
+        assertEquals(REPLICA, connectionName(true));
+
+        // Yazma transaction'ı commit olduktan sonra aynı kullanıcının okumaları primary'de
+        connectionName(false);
+        assertEquals(PRIMARY, connectionName(true));
+
+        actAs("replica-test-" + UUID.randomUUID());
+        assertEquals(REPLICA, connectionName(true));
+    }
+
+    private String connectionName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+
+    private static void actAs(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
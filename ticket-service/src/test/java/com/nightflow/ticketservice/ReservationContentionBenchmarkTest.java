@@ -0,0 +1,134 @@
+package com.nightflow.ticketservice;
+
+import com.nightflow.ticketservice.dto.*;
+import com.nightflow.ticketservice.entity.ConcurrencyStrategy;
+import com.nightflow.ticketservice.exception.InsufficientStockException;
+import com.nightflow.ticketservice.exception.ReservationConflictException;
+import com.nightflow.ticketservice.service.TicketCategoryService;
+import com.nightflow.ticketservice.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Eşzamanlılık stratejilerinin tek kategori üzerinde çekişme altında karşılaştırması.
+ *
+ * THREADS thread stoktan fazla sayıda tek biletlik rezervasyonu aynı anda gönderir. Her strateji
+ * için throughput, p99 gecikme ve sonuç dağılımı yazdırılır. Fazla satış kontrolü: başarılı
+ * rezervasyon sayısı stoğu aşmamalı ve kategori sayacı ile rezervasyon satırları birbirini tutmalı.
+ */
+@SpringBootTest
+public class ReservationContentionBenchmarkTest {
+
+    private static final String EVENT_ID = "contention-benchmark-event";
+    private static final String ORGANIZER_ID = "test-organizer";
+    private static final int STOCK = 200;
+    private static final int REQUESTS = 600;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TicketCategoryService ticketCategoryService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @org.springframework.test.context.bean.override.mockito.MockitoBean
+    private com.nightflow.ticketservice.client.EventServiceClient eventServiceClient;
+
+    @BeforeEach
+    public void setUp() {
+        EventResponse eventMock = new EventResponse();
+        eventMock.setId(EVENT_ID);
+        eventMock.setOrganizerId(ORGANIZER_ID);
+        org.mockito.Mockito.when(eventServiceClient.getEvent(EVENT_ID)).thenReturn(eventMock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ConcurrencyStrategy.class)
+    public void contention(ConcurrencyStrategy strategy) throws InterruptedException {
+        Long categoryId = ticketCategoryService.create(TicketCategoryRequest.builder()
+                .eventId(EVENT_ID)
+                .name("Çekişme " + strategy)
+                .price(BigDecimal.valueOf(100))
+                .totalQuantity(STOCK)
+                .concurrencyStrategy(strategy)
+                .build(), ORGANIZER_ID).getId();
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[REQUESTS];
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            executor.submit(() -> {
+                start.await();
+                long began = System.nanoTime();
+                try {
+                    ticketService.reserveTickets(ReservationRequest.builder()
+                            .categoryId(categoryId)
+                            .quantity(1)
+                            .sessionId("contention-" + UUID.randomUUID())
+                            .build());
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    insufficient.incrementAndGet();
+                } catch (ReservationConflictException e) {
+                    conflicts.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                } finally {
+                    latencies[index] = System.nanoTime() - began;
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), strategy + " zamanında bitmedi");
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        Arrays.sort(latencies);
+        double p99Ms = latencies[(int) Math.ceil(REQUESTS * 0.99) - 1] / 1e6;
+        System.out.printf("%-11s | %7.0f istek/s | p99 %7.1f ms | rezerve %3d | stok yok %3d | çakışma %3d | hata %d%n",
+                strategy, REQUESTS / seconds, p99Ms, reserved.get(), insufficient.get(), conflicts.get(), errors.get());
+
+        Map<String, Object> counters = jdbcTemplate.queryForMap(
+                "SELECT total_quantity, reserved_quantity, sold_quantity FROM ticket_categories WHERE id = ?", categoryId);
+        Long heldQuantity = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM reservation_holds WHERE category_id = ?", Long.class, categoryId);
+        int reservedCounter = ((Number) counters.get("reserved_quantity")).intValue();
+
+        assertEquals(0, errors.get());
+        assertTrue(reserved.get() <= STOCK, strategy + " fazla sattı: " + reserved.get());
+        assertEquals(reserved.get(), reservedCounter);
+        assertEquals(reserved.get(), heldQuantity.intValue());
+        if (strategy != ConcurrencyStrategy.OPTIMISTIC) {
+            // Bekleyerek sıraya giren stratejiler stoğun tamamını satar; iyimser strateji deneme sınırında vazgeçebilir
+            assertEquals(STOCK, reserved.get());
+        }
+    }
+}
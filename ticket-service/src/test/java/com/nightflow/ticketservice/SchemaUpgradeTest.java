@@ -0,0 +1,175 @@
+package com.nightflow.ticketservice;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * İlk sürümün (ddl-auto, IDENTITY id'li) dolu şemasından Flyway ile yükseltme.
+ *
+ * Ayrı bir veritabanında eski şema kurulup doldurulur, migration'lar uygulama ayarlarıyla
+ * (baseline-on-migrate, sürüm 0) çalıştırılır. Yükseltilen şemanın sütunları test veritabanının
+ * (Hibernate validate'ten geçmiş) şemasıyla aynı olmalı ve her sequence'in ilk bloğu mevcut
+ * id'lerin üstünde başlamalı.
+ */
+@SpringBootTest
+public class SchemaUpgradeTest {
+
+    private static final String DATABASE = "nightflow_ticket_upgrade_test";
+    private static final int ALLOCATION_SIZE = 50;
+
+    // 8cbb092 entity'lerinden ddl-auto: update'in ürettiği şema
+    private static final String BASELINE_SCHEMA = """
+            CREATE TABLE ticket_categories (
+                id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                created_at        timestamp(6),
+                description       varchar(255),
+                event_id          varchar(255)   NOT NULL,
+                name              varchar(255)   NOT NULL,
+                price             numeric(10, 2) NOT NULL,
+                reserved_quantity integer,
+                sales_end_at      timestamp(6),
+                sales_start_at    timestamp(6),
+                sold_quantity     integer,
+                status            varchar(255) CHECK (status IN ('AVAILABLE', 'SOLD_OUT', 'HIDDEN')),
+                total_quantity    integer        NOT NULL,
+                updated_at        timestamp(6)
+            );
+            CREATE TABLE tickets (
+                id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                created_at  timestamp(6),
+                order_id    bigint,
+                reserved_at timestamp(6),
+                seat_info   varchar(255),
+                session_id  varchar(255),
+                sold_at     timestamp(6),
+                status      varchar(255) CHECK (status IN ('AVAILABLE', 'RESERVED', 'SOLD', 'USED', 'CANCELLED')),
+                ticket_code varchar(255) NOT NULL UNIQUE,
+                used_at     timestamp(6),
+                user_id     bigint,
+                category_id bigint       NOT NULL REFERENCES ticket_categories (id)
+            );
+            """;
+
+    private static final String BASELINE_DATA = """
+            INSERT INTO ticket_categories (event_id, name, price, total_quantity, sold_quantity, reserved_quantity,
+                                           status, created_at, updated_at)
+            SELECT 'upgrade-event', 'Kategori ' || n, 100, 1000, 0, 0, 'AVAILABLE', now(), now()
+            FROM generate_series(1, 73) AS n;
+            INSERT INTO tickets (ticket_code, category_id, status, user_id, order_id, sold_at, created_at)
+            SELECT gen_random_uuid()::text, 1 + n % 73, 'SOLD', n, n, now(), now()
+            FROM generate_series(1, 1234) AS n;
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private JdbcTemplate upgraded;
+
+    @BeforeEach
+    public void createBaseline() throws SQLException {
+        dropDatabase();
+        jdbcTemplate.execute("CREATE DATABASE " + DATABASE);
+
+        DriverManagerDataSource target = new DriverManagerDataSource(upgradeUrl(), username, password);
+        upgraded = new JdbcTemplate(target);
+        upgraded.execute(BASELINE_SCHEMA);
+        upgraded.execute(BASELINE_DATA);
+
+        Flyway.configure()
+                .dataSource(target)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    public void dropDatabase() {
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+    }
+
+    @Test
+    public void upgradedSchemaMatchesFreshSchema() {
+        for (String table : List.of("ticket_categories", "tickets", "reservation_holds")) {
+            assertEquals(columns(jdbcTemplate, table), columns(upgraded, table), table);
+        }
+    }
+
+    @Test
+    public void firstSequenceBlockStartsAboveExistingIds() {
+        assertFirstBlockAbove("ticket_category_seq", 73);
+        assertFirstBlockAbove("ticket_seq", 1234);
+        assertFirstBlockAbove("reservation_hold_seq", 0);
+    }
+
+    @Test
+    public void newRowsDoNotCollideWithIdentityRows() {
+        long categoryId = firstIdOfNextBlock("ticket_category_seq");
+        upgraded.update("""
+                INSERT INTO ticket_categories (id, event_id, name, price, total_quantity, sold_quantity,
+                                               reserved_quantity, status, version)
+                VALUES (?, 'upgrade-event', 'Yeni', 100, 10, 0, 0, 'AVAILABLE', 0)
+                """, categoryId);
+
+        // Kod kaydı (ticket_codes) da yeni id'yi kabul etmeli
+        long ticketId = firstIdOfNextBlock("ticket_seq");
+        upgraded.update("""
+                INSERT INTO tickets (id, ticket_code, category_id, status, archived, created_at)
+                VALUES (?, ?, ?, 'AVAILABLE', false, now())
+                """, ticketId, UUID.randomUUID().toString(), categoryId);
+
+        assertEquals(1235, upgraded.queryForObject("SELECT count(*) FROM ticket_codes", Long.class));
+    }
+
+    private void assertFirstBlockAbove(String sequence, long maxId) {
+        long first = firstIdOfNextBlock(sequence);
+        assertTrue(first > maxId, () -> sequence + " ilk bloğu " + first + ", mevcut en büyük id " + maxId);
+        assertEquals(1, first % ALLOCATION_SIZE, sequence);
+    }
+
+    // Hibernate pooled optimizer: nextval bloğun üst sınırı
+    private long firstIdOfNextBlock(String sequence) {
+        return upgraded.queryForObject("SELECT nextval('" + sequence + "')", Long.class) - (ALLOCATION_SIZE - 1);
+    }
+
+    private static Set<String> columns(JdbcTemplate template, String table) {
+        return template.queryForList("""
+                        SELECT column_name || ' ' || data_type FROM information_schema.columns
+                        WHERE table_schema = 'public' AND table_name = ?
+                        """, String.class, table).stream()
+                .collect(Collectors.toSet());
+    }
+
+    private String upgradeUrl() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL().replaceFirst("/[^/?]+(\\?|$)", "/" + DATABASE + "$1");
+        }
+    }
+}
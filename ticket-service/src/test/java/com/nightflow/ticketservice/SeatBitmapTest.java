@@ -0,0 +1,160 @@
+package com.nightflow.ticketservice;
+
+import com.nightflow.ticketservice.service.SeatBitmap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Koltuk haritası bitmap'i: en iyi koltuk seçimi, etiketler ve byte dönüşümü (Spring context'siz)
+ */
+public class SeatBitmapTest {
+
+    @Test
+    public void bestAvailableIsCenteredInFrontRow() {
+        SeatBitmap bitmap = SeatBitmap.empty(3, 10);
+
+        assertEquals(List.of(3, 4, 5, 6), bitmap.findBestAvailable(4));
+        assertEquals(List.of(3, 4, 5), bitmap.findBestAvailable(3));
+        assertEquals(IntStream.range(0, 10).boxed().toList(), bitmap.findBestAvailable(10));
+    }
+
+    @Test
+    public void blockStaysInsideFreeRun() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 10);
+        // Satır 0 boş aralıkları: [0,2) [3,7) [8,10)
+        bitmap.take(List.of(2, 7));
+
+        assertEquals(List.of(3, 4, 5), bitmap.findBestAvailable(3));
+        assertEquals(List.of(3, 4, 5, 6), bitmap.findBestAvailable(4));
+        // Satır 0'da 5'lik aralık yok, sonraki satırın ortası
+        assertEquals(List.of(12, 13, 14, 15, 16), bitmap.findBestAvailable(5));
+    }
+
+    @Test
+    public void closestRunToCenterWins() {
+        SeatBitmap bitmap = SeatBitmap.empty(1, 10);
+        // Boş aralıklar [0,4) ve [6,10); ideal başlangıç 3
+        bitmap.take(List.of(4, 5));
+
+        assertEquals(List.of(1, 2, 3), bitmap.findBestAvailable(3));
+    }
+
+    @Test
+    public void blockAtRowEdge() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 10);
+        bitmap.take(IntStream.range(0, 7).boxed().toList());
+
+        assertEquals(List.of(7, 8, 9), bitmap.findBestAvailable(3));
+    }
+
+    @Test
+    public void blockDoesNotWrapIntoNextRow() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 10);
+        // Satır 0'da yalnızca 8 ve 9 boş; 8, 9, 10 bitişik indeksler ama farklı satırlar
+        bitmap.take(IntStream.range(0, 8).boxed().toList());
+
+        assertEquals(List.of(13, 14, 15), bitmap.findBestAvailable(3));
+    }
+
+    @Test
+    public void fullRowIsSkipped() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 4);
+        bitmap.take(List.of(0, 1, 2, 3));
+
+        assertEquals(List.of(5, 6), bitmap.findBestAvailable(2));
+        assertEquals(4, bitmap.availableCount());
+    }
+
+    @Test
+    public void scatteredFallbackWhenNoRowHasBlock() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 4);
+        bitmap.take(List.of(1, 5));
+
+        assertEquals(List.of(0, 2, 3), bitmap.findBestAvailable(3));
+    }
+
+    @Test
+    public void countWiderThanRowFallsBackToScattered() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 4);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), bitmap.findBestAvailable(6));
+    }
+
+    @Test
+    public void notEnoughSeatsReturnsEmpty() {
+        SeatBitmap bitmap = SeatBitmap.empty(2, 4);
+        bitmap.take(List.of(0, 7));
+
+        assertEquals(List.of(), bitmap.findBestAvailable(7));
+        assertEquals(6, bitmap.findBestAvailable(6).size());
+    }
+
+    @Test
+    public void labelParseRoundTrip() {
+        SeatBitmap bitmap = SeatBitmap.empty(30, 20);
+
+        for (int index = 0; index < bitmap.capacity(); index++) {
+            assertEquals(index, bitmap.parse(bitmap.label(index)));
+        }
+        assertEquals("A-1", bitmap.label(0));
+        assertEquals("Z-20", bitmap.label(25 * 20 + 19));
+        assertEquals("AA-1", bitmap.label(26 * 20));
+        assertEquals("AD-20", bitmap.label(bitmap.capacity() - 1));
+        assertEquals(26 * 20 + 2, bitmap.parse("aa-3"));
+    }
+
+    @Test
+    public void rowLabels() {
+        assertEquals("A", SeatBitmap.rowLabel(0));
+        assertEquals("Z", SeatBitmap.rowLabel(25));
+        assertEquals("AA", SeatBitmap.rowLabel(26));
+        assertEquals("AZ", SeatBitmap.rowLabel(51));
+        assertEquals("BA", SeatBitmap.rowLabel(52));
+        assertEquals("ZZ", SeatBitmap.rowLabel(701));
+        assertEquals("AAA", SeatBitmap.rowLabel(702));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"A-0", "A-21", "AE-1", "-1", "A1", "A-x", "1-1", "A-", "Ä-1"})
+    public void invalidLabelsAreRejected(String label) {
+        SeatBitmap bitmap = SeatBitmap.empty(30, 20);
+
+        assertThrows(IllegalArgumentException.class, () -> bitmap.parse(label));
+    }
+
+    @Test
+    public void bytesRoundTrip() {
+        SeatBitmap bitmap = SeatBitmap.empty(3, 5);
+        // Son byte'ın yüksek bitleri boş olsa da uzunluk sabit
+        assertArrayEquals(new byte[2], bitmap.toBytes());
+
+        bitmap.take(List.of(0, 9, 14));
+        byte[] bytes = bitmap.toBytes();
+        assertArrayEquals(new byte[]{0b0000_0001, 0b0100_0010}, bytes);
+
+        SeatBitmap restored = SeatBitmap.fromBytes(3, 5, bytes);
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(12, restored.availableCount());
+        for (int index = 0; index < bitmap.capacity(); index++) {
+            assertEquals(bitmap.isFree(index), restored.isFree(index));
+        }
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        SeatBitmap bitmap = SeatBitmap.empty(1, 4);
+        SeatBitmap copy = bitmap.copy();
+        copy.take(List.of(1));
+
+        assertTrue(bitmap.isFree(1));
+        assertFalse(copy.isFree(1));
+        copy.release(List.of(1));
+        assertTrue(copy.isFree(1));
+    }
+}
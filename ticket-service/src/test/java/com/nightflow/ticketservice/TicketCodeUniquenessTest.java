@@ -0,0 +1,105 @@
+package com.nightflow.ticketservice;
+
+import com.nightflow.ticketservice.dto.EventResponse;
+import com.nightflow.ticketservice.dto.TicketCategoryRequest;
+import com.nightflow.ticketservice.service.TicketCategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bölümlü tickets tablosunda ticket_code ve id tekilliği (V8: ticket_codes kayıt tablosu ve trigger'ı).
+ * Satırlar JDBC ile yazılır; Hibernate'in ürettiği kodlara güvenmeden veritabanı kısıtı sınanır.
+ */
+@SpringBootTest
+public class TicketCodeUniquenessTest {
+
+    private static final String EVENT_ID = "ticket-code-test-event";
+    private static final String ORGANIZER_ID = "test-organizer";
+
+    @Autowired
+    private TicketCategoryService ticketCategoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @org.springframework.test.context.bean.override.mockito.MockitoBean
+    private com.nightflow.ticketservice.client.EventServiceClient eventServiceClient;
+
+    private Long categoryId;
+
+    @BeforeEach
+    public void setUp() {
+        EventResponse eventMock = new EventResponse();
+        eventMock.setId(EVENT_ID);
+        eventMock.setOrganizerId(ORGANIZER_ID);
+        org.mockito.Mockito.when(eventServiceClient.getEvent(EVENT_ID)).thenReturn(eventMock);
+
+        categoryId = ticketCategoryService.create(TicketCategoryRequest.builder()
+                .eventId(EVENT_ID)
+                .name("Kod Tekilliği")
+                .price(BigDecimal.valueOf(100))
+                .totalQuantity(10)
+                .build(), ORGANIZER_ID).getId();
+    }
+
+    @Test
+    public void duplicateCodeIsRejectedInSamePartition() {
+        String code = UUID.randomUUID().toString();
+        insert(nextId(), code, "AVAILABLE", false);
+
+        assertThrows(DataIntegrityViolationException.class, () -> insert(nextId(), code, "RESERVED", false));
+    }
+
+    @Test
+    public void duplicateCodeIsRejectedAcrossPartitions() {
+        String code = UUID.randomUUID().toString();
+        insert(nextId(), code, "AVAILABLE", false);
+
+        assertThrows(DataIntegrityViolationException.class, () -> insert(nextId(), code, "SOLD", false));
+        assertThrows(DataIntegrityViolationException.class, () -> insert(nextId(), code, "USED", true));
+    }
+
+    @Test
+    public void duplicateIdIsRejected() {
+        long id = nextId();
+        insert(id, UUID.randomUUID().toString(), "AVAILABLE", false);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insert(id, UUID.randomUUID().toString(), "SOLD", false));
+    }
+
+    @Test
+    public void rowMovingBetweenPartitionsKeepsItsCode() {
+        long id = nextId();
+        String code = UUID.randomUUID().toString();
+        insert(id, code, "AVAILABLE", false);
+
+        // tickets_live_open -> tickets_live_closed -> tickets_archive
+        jdbcTemplate.update("UPDATE tickets SET status = 'SOLD' WHERE id = ?", id);
+        jdbcTemplate.update("UPDATE tickets SET archived = true WHERE id = ?", id);
+
+        assertEquals(id, jdbcTemplate.queryForObject(
+                "SELECT ticket_id FROM ticket_codes WHERE ticket_code = ?", Long.class, code));
+        assertThrows(DataIntegrityViolationException.class, () -> insert(nextId(), code, "AVAILABLE", false));
+    }
+
+    private long nextId() {
+        return jdbcTemplate.queryForObject("SELECT nextval('ticket_seq')", Long.class);
+    }
+
+    private void insert(long id, String code, String status, boolean archived) {
+        jdbcTemplate.update("""
+                INSERT INTO tickets (id, ticket_code, category_id, status, archived, created_at)
+                VALUES (?, ?, ?, ?, ?, now())
+                """, id, code, categoryId, status, archived);
+    }
+}
@@ -70,7 +70,8 @@ public class TicketConcurrencyTest {
 
         ReservationResponse response = ticketService.reserveTickets(request);
         assertNotNull(response.getSessionId());
-        assertEquals(1, response.getTicketCodes().size());
+        assertEquals(1, response.getQuantity());
+        assertTrue(response.getTicketCodes().isEmpty()); // Kodlar satış onayında oluşur
     }
 
     @Test
@@ -85,7 +86,8 @@ public class TicketConcurrencyTest {
 
         ReservationResponse response = ticketService.reserveTickets(request);
         assertNotNull(response.getSessionId());
-        assertEquals(1, response.getTicketCodes().size());
+        assertEquals(1, response.getQuantity());
+        assertTrue(response.getTicketCodes().isEmpty()); // Kodlar satış onayında oluşur
     }
 
     @Test
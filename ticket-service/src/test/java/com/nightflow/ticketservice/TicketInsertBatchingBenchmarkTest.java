@@ -0,0 +1,99 @@
+package com.nightflow.ticketservice;
+
+import com.nightflow.ticketservice.dto.*;
+import com.nightflow.ticketservice.entity.Ticket;
+import com.nightflow.ticketservice.service.TicketCategoryService;
+import com.nightflow.ticketservice.service.TicketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rezervasyon + satış onayı başına gönderilen SQL statement sayısı.
+ *
+ * IDENTITY ile her bilet ayrı bir INSERT ... RETURNING demekti (100 bilet = 100+ statement).
+ * Sequence ID ve JDBC batch ile bilet sayısı arttıkça statement sayısı neredeyse sabit kalmalı.
+ * Çıktıda her adedin yanında IDENTITY dönemindeki satış onayı sayısı da yazılır.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TicketInsertBatchingBenchmarkTest {
+
+    private static final String EVENT_ID = "batching-benchmark-event";
+    private static final String ORGANIZER_ID = "test-organizer";
+
+    // Aynı test, IDENTITY id'li entity'lerle (sequence'e geçişten önce) ölçülen satış onayı statement sayıları
+    private static final Map<Integer, Integer> IDENTITY_CONFIRM_STATEMENTS = Map.of(1, 5, 10, 14, 100, 104);
+
+    @Autowired
+    private TicketCategoryService ticketCategoryService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @org.springframework.test.context.bean.override.mockito.MockitoBean
+    private com.nightflow.ticketservice.client.EventServiceClient eventServiceClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        EventResponse eventMock = new EventResponse();
+        eventMock.setId(EVENT_ID);
+        eventMock.setOrganizerId(ORGANIZER_ID);
+        org.mockito.Mockito.when(eventServiceClient.getEvent(EVENT_ID)).thenReturn(eventMock);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    public void statementsPerReservation(int quantity) {
+        Long categoryId = ticketCategoryService.create(TicketCategoryRequest.builder()
+                .eventId(EVENT_ID)
+                .name("Benchmark Kategori " + quantity)
+                .price(BigDecimal.valueOf(100))
+                .totalQuantity(1000)
+                .build(), ORGANIZER_ID).getId();
+        String sessionId = "benchmark-" + UUID.randomUUID();
+
+        statistics.clear();
+        ticketService.reserveTickets(ReservationRequest.builder()
+                .categoryId(categoryId)
+                .quantity(quantity)
+                .sessionId(sessionId)
+                .build());
+        long reserveStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        var tickets = ticketService.confirmSale(sessionId, 1L, 1L);
+        long confirmStatements = statistics.getPrepareStatementCount();
+        // Aynı transaction'da outbox olayı da insert ediliyor; yalnızca biletleri say
+        long insertedTickets = statistics.getEntityStatistics(Ticket.class.getName()).getInsertCount();
+
+        System.out.printf("Adet: %3d | reserve: %3d statement | confirm: %3d statement (%d bilet insert)"
+                        + " | IDENTITY ile confirm: %3d statement%n",
+                quantity, reserveStatements, confirmStatements, insertedTickets,
+                IDENTITY_CONFIRM_STATEMENTS.get(quantity));
+
+        assertEquals(quantity, tickets.size());
+        assertEquals(quantity, insertedTickets);
+        // Bilet başına bir INSERT olsaydı statement sayısı adet ile doğrusal büyürdü
+        assertTrue(confirmStatements < 20,
+                "Satış onayı " + quantity + " bilet için " + confirmStatements + " statement gönderdi");
+    }
+}
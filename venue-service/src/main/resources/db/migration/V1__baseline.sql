@@ -0,0 +1,40 @@
+-- Şemanın ddl-auto ile oluşturulduğu son hali. IF NOT EXISTS sayesinde mevcut veritabanlarında
+-- (baseline-on-migrate, sürüm 0) değişiklik yapmaz.
+
+CREATE TABLE IF NOT EXISTS organizers (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       varchar(255) NOT NULL,
+    slug       varchar(255) NOT NULL,
+    email      varchar(255),
+    phone      varchar(255),
+    logo_url   varchar(255),
+    status     varchar(255) NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6),
+    CONSTRAINT uk_organizers_name UNIQUE (name),
+    CONSTRAINT uk_organizers_slug UNIQUE (slug)
+);
+
+CREATE TABLE IF NOT EXISTS venues (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       varchar(255) NOT NULL,
+    address    varchar(255),
+    city       varchar(255) NOT NULL,
+    district   varchar(255),
+    capacity   integer,
+    map_url    varchar(255),
+    image_url  varchar(255),
+    type       varchar(255),
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS venue_reservations (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    venue_id     bigint       NOT NULL,
+    organizer_id bigint       NOT NULL,
+    event_date   timestamp(6) NOT NULL,
+    reserved_at  timestamp(6) NOT NULL,
+    status       varchar(255) NOT NULL,
+    CONSTRAINT fk_venue_reservations_venue FOREIGN KEY (venue_id) REFERENCES venues (id),
+    CONSTRAINT fk_venue_reservations_organizer FOREIGN KEY (organizer_id) REFERENCES organizers (id)
+);
@@ -0,0 +1,18 @@
+-- Sıcak sorguların indeksleri; her biri QueryPlanTest'te EXPLAIN ile doğrulanır.
+
+-- Salonun rezervasyonları ve tarih çakışma kontrolü (iptaller hariç)
+CREATE INDEX IF NOT EXISTS idx_venue_reservations_venue_date ON venue_reservations (venue_id, event_date);
+CREATE INDEX IF NOT EXISTS idx_venue_reservations_active ON venue_reservations (venue_id, event_date)
+    WHERE status <> 'CANCELLED';
+-- Organizatörün rezervasyonları ve yaklaşan etkinlikleri
+CREATE INDEX IF NOT EXISTS idx_venue_reservations_organizer_date ON venue_reservations (organizer_id, event_date);
+CREATE INDEX IF NOT EXISTS idx_venue_reservations_status ON venue_reservations (status);
+
+-- Şehir / tür / kapasite filtreleri; ignoreCase sorgusu upper(city) ile karşılaştırır
+CREATE INDEX IF NOT EXISTS idx_venues_city_type ON venues (city, type);
+CREATE INDEX IF NOT EXISTS idx_venues_upper_city ON venues (upper(city));
+CREATE INDEX IF NOT EXISTS idx_venues_type ON venues (type);
+CREATE INDEX IF NOT EXISTS idx_venues_capacity ON venues (capacity);
+
+CREATE INDEX IF NOT EXISTS idx_organizers_email ON organizers (email);
+CREATE INDEX IF NOT EXISTS idx_organizers_status ON organizers (status);
@@ -0,0 +1,169 @@
+package com.nightflow.venueservice;
+
+import com.nightflow.venueservice.entity.OrganizerStatus;
+import com.nightflow.venueservice.entity.ReservationStatus;
+import com.nightflow.venueservice.entity.VenueType;
+import com.nightflow.venueservice.repository.OrganizerRepository;
+import com.nightflow.venueservice.repository.VenueRepository;
+import com.nightflow.venueservice.repository.VenueReservationRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository sorgularının planları (db/migration indeksleri).
+ *
+ * Her repository metodu geri alınan bir transaction'da çağrılır ve Hibernate'in gönderdiği SQL
+ * StatementInspector ile yakalanır; yakalanan her statement genel plan olarak (force_generic_plan)
+ * sıralı tarama kapatılarak EXPLAIN edilir. Karşılayan indeks yoksa plan yine Seq Scan içerir ve
+ * test kırılır. Yeni sorgu eklenince buraya da eklenir.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.nightflow.venueservice.QueryPlanTest$SqlCapture")
+class QueryPlanTest {
+
+    private static final AtomicInteger PLAN_IDS = new AtomicInteger();
+
+    @Autowired
+    private VenueReservationRepository venueReservationRepository;
+
+    @Autowired
+    private OrganizerRepository organizerRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        // VenueReservationRepository
+        queries.put("findByOrganizerId", () -> venueReservationRepository.findByOrganizerId(1L));
+        queries.put("findByVenueId", () -> venueReservationRepository.findByVenueId(1L));
+        queries.put("findByStatus", () -> venueReservationRepository.findByStatus(ReservationStatus.PENDING));
+        queries.put("findActiveReservationsByVenueAndDate",
+                () -> venueReservationRepository.findActiveReservationsByVenueAndDate(1L, now));
+        queries.put("findUpcomingReservationsByOrganizer",
+                () -> venueReservationRepository.findUpcomingReservationsByOrganizer(1L, now));
+
+        // OrganizerRepository
+        queries.put("findBySlug", () -> organizerRepository.findBySlug("slug"));
+        queries.put("findByEmail", () -> organizerRepository.findByEmail("a@b.c"));
+        queries.put("findByStatus (organizer)", () -> organizerRepository.findByStatus(OrganizerStatus.ACTIVE));
+
+        // VenueRepository
+        queries.put("findByCity", () -> venueRepository.findByCity("Istanbul"));
+        queries.put("findByCityIgnoreCase", () -> venueRepository.findByCityIgnoreCase("istanbul"));
+        queries.put("findByType", () -> venueRepository.findByType(VenueType.CLUB));
+        queries.put("findByCityAndType", () -> venueRepository.findByCityAndType("Istanbul", VenueType.CLUB));
+        queries.put("findByCapacityGreaterThanEqual", () -> venueRepository.findByCapacityGreaterThanEqual(500));
+
+        return queries.entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertUsesIndexes(query.getKey(), query.getValue())));
+    }
+
+    private void assertUsesIndexes(String query, Runnable call) {
+        List<String> statements = capture(call);
+        assertFalse(statements.isEmpty(), () -> query + " SQL göndermedi");
+
+        for (String sql : statements) {
+            List<String> plan = explain(sql);
+            assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan")),
+                    () -> query + " sıralı tarama yapıyor:\n" + sql + "\n" + String.join("\n", plan));
+        }
+    }
+
+    /**
+     * Repository çağrısının gönderdiği SQL'ler; transaction geri alınır
+     */
+    private List<String> capture(Runnable call) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            SqlCapture.start();
+            try {
+                call.run();
+                return SqlCapture.statements();
+            } finally {
+                SqlCapture.stop();
+            }
+        });
+    }
+
+    /**
+     * JDBC parametreleri (?) $n'e çevrilip PREPARE edilir; tipler sorgudan çıkarılır, değerler
+     * genel planda kullanılmadığı için NULL verilir
+     */
+    private List<String> explain(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        String name = "query_plan_" + PLAN_IDS.incrementAndGet();
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE " + name + " AS " + prepared);
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN EXECUTE " + name + arguments, String.class);
+            jdbcTemplate.execute("DEALLOCATE " + name);
+            return plan;
+        });
+    }
+
+    /**
+     * Hibernate'in gönderdiği SQL'leri test thread'i için toplar (zamanlanmış işlerinkini değil)
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void start() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS.get());
+        }
+
+        static void stop() {
+            STATEMENTS.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}